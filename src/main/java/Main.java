@@ -1,15 +1,14 @@
-import api.BloomFilter;
 import api.Tree;
 import implementations.AVLTree;
 import implementations.BST;
-import implementations.BloomFilterImpl;
+import implementations.IntBloomFilter;
 
 import java.security.SecureRandom;
 import java.util.*;
 
 public class Main {
     public static void main(String[] args) {
-        BloomFilter<Integer> filter = new BloomFilterImpl<>(2_000_000, 10e-10);
+        IntBloomFilter filter = new IntBloomFilter(2_000_000, 10e-10);
         System.out.println("Expected false psitive rate: " + filter.expectedFalsePositiveRate());
         System.out.println("Memory footprint estimation (bytes): " + filter.getMemoryFootprintEstimate());
         System.out.println("Hashy function count: " + filter.getHashFunctionCount());
@@ -0,0 +1,78 @@
+package api;
+
+// Point in time snapshot of a bloom filter's fill state and query counters. Derived values come from
+// the number of set bits rather than the insert count, so duplicate inserts don't skew them.
+public class BloomFilterStatistics {
+
+    private final long bitCount;
+    private final long setBitCount;
+    private final int hashFunctionCount;
+    private final long insertCount;
+    private final long queryCount;
+    private final long positiveCount;
+
+    public BloomFilterStatistics(long bitCount, long setBitCount, int hashFunctionCount, long insertCount, long queryCount, long positiveCount) {
+        this.bitCount = bitCount;
+        this.setBitCount = setBitCount;
+        this.hashFunctionCount = hashFunctionCount;
+        this.insertCount = insertCount;
+        this.queryCount = queryCount;
+        this.positiveCount = positiveCount;
+    }
+
+    public long getBitCount() {
+        return bitCount;
+    }
+
+    public long getSetBitCount() {
+        return setBitCount;
+    }
+
+    public int getHashFunctionCount() {
+        return hashFunctionCount;
+    }
+
+    public long getInsertCount() {
+        return insertCount;
+    }
+
+    public long getQueryCount() {
+        return queryCount;
+    }
+
+    public long getPositiveCount() {
+        return positiveCount;
+    }
+
+    public double getFillRatio() {
+        return (double) setBitCount / bitCount;
+    }
+
+    // Swamidass and Baldi's estimate of the number of distinct elements that produce the observed fill
+    public double getEstimatedDistinctCount() {
+        if (setBitCount >= bitCount)
+            return Double.POSITIVE_INFINITY;
+        return ((double) bitCount / hashFunctionCount) * -Math.log1p(-getFillRatio());
+    }
+
+    // chance that an absent element finds all of its bits already set at the current fill
+    public double getEstimatedFalsePositiveRate() {
+        return Math.pow(getFillRatio(), hashFunctionCount);
+    }
+
+    public double getPositiveRate() {
+        return (queryCount == 0) ? 0 : (double) positiveCount / queryCount;
+    }
+
+    @Override
+    public String toString() {
+        return "BloomFilterStatistics{" +
+                "bitCount=" + bitCount +
+                ", setBitCount=" + setBitCount +
+                ", hashFunctionCount=" + hashFunctionCount +
+                ", insertCount=" + insertCount +
+                ", queryCount=" + queryCount +
+                ", positiveCount=" + positiveCount +
+                '}';
+    }
+}
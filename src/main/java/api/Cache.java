@@ -0,0 +1,24 @@
+package api;
+
+import java.util.function.Function;
+
+public interface Cache<K, V> {
+
+    V get(K key);
+
+    void put(K key, V value);
+
+    V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction);
+
+    V remove(K key);
+
+    boolean containsKey(K key);
+
+    int size();
+
+    boolean isEmpty();
+
+    void clear();
+
+    int getMaximumSize();
+}
@@ -0,0 +1,16 @@
+package api;
+
+public interface CardinalityEstimator<E> {
+
+    void add(E element);
+
+    long estimate();
+
+    void merge(CardinalityEstimator<E> other);
+
+    void clear();
+
+    boolean isEmpty();
+
+    int getMemoryFootprintEstimate();
+}
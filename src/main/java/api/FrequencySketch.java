@@ -0,0 +1,18 @@
+package api;
+
+public interface FrequencySketch<E> {
+
+    void add(E element);
+
+    void add(E element, long count);
+
+    long estimateCount(E element);
+
+    long totalCount();
+
+    void merge(FrequencySketch<E> other);
+
+    void clear();
+
+    int getMemoryFootprintEstimate();
+}
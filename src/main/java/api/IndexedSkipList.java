@@ -0,0 +1,12 @@
+package api;
+
+public interface IndexedSkipList<E> extends SkipList<E> {
+
+    E get(int index);
+
+    int indexOf(E e);
+
+    int rank(E e);
+
+    E removeAt(int index);
+}
@@ -0,0 +1,39 @@
+package api;
+
+import java.util.Iterator;
+import java.util.NavigableSet;
+
+public interface NavigableSkipList<E> extends SkipList<E> {
+
+    E first();
+
+    E last();
+
+    E ceiling(E e);
+
+    E floor(E e);
+
+    E higher(E e);
+
+    E lower(E e);
+
+    E pollFirst();
+
+    E pollLast();
+
+    NavigableSet<E> subSet(E fromElement, E toElement);
+
+    NavigableSet<E> subSet(E fromElement, boolean fromInclusive, E toElement, boolean toInclusive);
+
+    NavigableSet<E> headSet(E toElement);
+
+    NavigableSet<E> headSet(E toElement, boolean inclusive);
+
+    NavigableSet<E> tailSet(E fromElement);
+
+    NavigableSet<E> tailSet(E fromElement, boolean inclusive);
+
+    NavigableSet<E> descendingSet();
+
+    Iterator<E> descendingIterator();
+}
@@ -0,0 +1,6 @@
+package api;
+
+public interface RemovableBloomFilter<E> extends BloomFilter<E> {
+
+    boolean remove(E element);
+}
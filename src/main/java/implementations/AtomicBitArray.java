@@ -0,0 +1,69 @@
+package implementations;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Bit array that can be written by many threads at once. Bits are only ever turned on while the
+// array is shared, so setting one is a CAS-OR on its word that retries only if another writer
+// changed the same word in between. Reads are plain volatile loads.
+final class AtomicBitArray {
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+
+    AtomicBitArray(long bitCount) {
+        long wordCount = (bitCount + Long.SIZE - 1) >>> 6;
+        if (wordCount > Integer.MAX_VALUE - 8)
+            throw new IllegalArgumentException("Bit array would exceed the maximum array size");
+        this.words = new AtomicLongArray((int) wordCount);
+        this.bitCount = bitCount;
+    }
+
+    boolean get(long bit) {
+        return (words.get((int) (bit >>> 6)) & (1L << bit)) != 0;
+    }
+
+    // returns true if the bit was not already set
+    boolean set(long bit) {
+        int index = (int) (bit >>> 6);
+        long mask = 1L << bit;
+        long current = words.get(index);
+        while ((current & mask) == 0) {
+            if (words.compareAndSet(index, current, current | mask))
+                return true;
+            current = words.get(index);
+        }
+        return false;
+    }
+
+    long cardinality() {
+        long count = 0;
+        for (int i = 0; i < words.length(); i++)
+            count += Long.bitCount(words.get(i));
+        return count;
+    }
+
+    void clear() {
+        for (int i = 0; i < words.length(); i++)
+            words.set(i, 0L);
+    }
+
+    int wordCount() {
+        return words.length();
+    }
+
+    long getWord(int index) {
+        return words.get(index);
+    }
+
+    void setWord(int index, long value) {
+        words.set(index, value);
+    }
+
+    long bitCount() {
+        return bitCount;
+    }
+
+    long byteSize() {
+        return (long) words.length() * Long.BYTES;
+    }
+}
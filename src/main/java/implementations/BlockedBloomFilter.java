@@ -0,0 +1,193 @@
+package implementations;
+
+import api.BloomFilter;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Objects;
+
+// Bloom filter that keeps all probes of a key inside one block of blockBits bits. Keys aren't spread
+// evenly over blocks, and overloaded blocks raise the false positive rate, so the filter is sized with a
+// model that averages the per block rate over the Poisson distribution of block loads and grows the block
+// count until the configured rate is met.
+public class BlockedBloomFilter<E> implements BloomFilter<E> {
+
+    // 512 bits is one 64 byte cache line, so every probe for a key lands on the same line
+    public static final int DEFAULT_BLOCK_BITS = 512;
+
+    // each probe advances a 64 bit LCG and takes its top bits as the bit index within the block
+    private static final long PROBE_MULTIPLIER = 0x5851F42D4C957F2DL;
+    private static final long PROBE_INCREMENT = 0x14057B7EF767814FL;
+
+    private final long[] words;
+    private final int blockBits;
+    private final int blockShift;
+    private final int wordsPerBlock;
+    private final int numBlocks;
+    private final int numHashes;
+    private int size;
+
+    public BlockedBloomFilter() {
+        this(100_000L, 1e-7);
+    }
+
+    public BlockedBloomFilter(long expectedElementCount) {
+        this(expectedElementCount, 1e-7);
+    }
+
+    public BlockedBloomFilter(long expectedElementCount, double desiredFalsePositiveRate) {
+        this(expectedElementCount, desiredFalsePositiveRate, DEFAULT_BLOCK_BITS);
+    }
+
+    public BlockedBloomFilter(long expectedElementCount, double desiredFalsePositiveRate, int blockBits) {
+        BloomFilterMath.checkArguments(expectedElementCount, desiredFalsePositiveRate);
+        if (blockBits < Long.SIZE || Integer.bitCount(blockBits) != 1)
+            throw new IllegalArgumentException("Block size must be a power of two of at least 64 bits");
+        int wordsPerBlock = blockBits / Long.SIZE;
+        long blocks = Math.max(1, (BloomFilterMath.optimalBitCount(expectedElementCount, desiredFalsePositiveRate) + blockBits - 1) / blockBits);
+        int hashes = bestHashCount(blocks, blockBits, expectedElementCount);
+        // grow by about 3% at a time until block load variance is covered
+        while (falsePositiveRate(blocks, blockBits, hashes, expectedElementCount) > desiredFalsePositiveRate) {
+            blocks += Math.max(1, blocks / 32);
+            hashes = bestHashCount(blocks, blockBits, expectedElementCount);
+        }
+        if (blocks * wordsPerBlock > Integer.MAX_VALUE - 8)
+            throw new IllegalArgumentException("Filter would exceed the maximum array size");
+        this.blockBits = blockBits;
+        this.blockShift = Long.SIZE - Integer.numberOfTrailingZeros(blockBits);
+        this.wordsPerBlock = wordsPerBlock;
+        this.numBlocks = (int) blocks;
+        this.words = new long[numBlocks * wordsPerBlock];
+        this.numHashes = hashes;
+    }
+
+    // the rate is unimodal in k, so scan up from one probe until it stops improving
+    private static int bestHashCount(long blocks, int blockBits, long elements) {
+        int best = 1;
+        double bestRate = falsePositiveRate(blocks, blockBits, 1, elements);
+        for (int k = 2; k <= Long.SIZE; k++) {
+            double rate = falsePositiveRate(blocks, blockBits, k, elements);
+            if (rate >= bestRate)
+                break;
+            best = k;
+            bestRate = rate;
+        }
+        return best;
+    }
+
+    // Averages the false positive rate of a block over the Poisson distribution of block loads. The weights
+    // are built outwards from the mode and normalized at the end so large mean loads don't underflow.
+    static double falsePositiveRate(long blocks, int blockBits, int hashes, double elements) {
+        double meanLoad = elements / blocks;
+        int mode = (int) Math.floor(meanLoad);
+        int spread = (int) Math.ceil(12 * Math.sqrt(meanLoad) + 12);
+        double weight = 1;
+        double totalWeight = 0;
+        double rate = 0;
+        for (int load = mode; load <= mode + spread; load++) {
+            if (load > mode)
+                weight *= meanLoad / load;
+            totalWeight += weight;
+            rate += weight * blockFalsePositiveRate(blockBits, hashes, load);
+        }
+        weight = 1;
+        for (int load = mode - 1; load >= Math.max(0, mode - spread); load--) {
+            weight *= (load + 1) / meanLoad;
+            totalWeight += weight;
+            rate += weight * blockFalsePositiveRate(blockBits, hashes, load);
+        }
+        return rate / totalWeight;
+    }
+
+    // A query hits k set bits with probability E[(X / B)^k], where X is the number of set bits after
+    // k * load random probes. Small blocks have a noticeable spread in X, so (E[X] / B)^k is corrected to
+    // second order with the variance of the occupancy count.
+    private static double blockFalsePositiveRate(int blockBits, int hashes, int load) {
+        double probes = (double) hashes * load;
+        double emptyOne = Math.exp(probes * Math.log1p(-1.0 / blockBits));
+        double emptyTwo = Math.exp(probes * Math.log1p(-2.0 / blockBits));
+        double fill = 1 - emptyOne;
+        if (fill <= 0)
+            return 0;
+        double variance = blockBits * emptyOne + (double) blockBits * (blockBits - 1) * emptyTwo - (double) blockBits * blockBits * emptyOne * emptyOne;
+        double relativeVariance = Math.max(0, variance) / ((double) blockBits * blockBits * fill * fill);
+        return Math.min(1, Math.pow(fill, hashes) * (1 + hashes * (hashes - 1) / 2.0 * relativeVariance));
+    }
+
+    @Override
+    public void add(E element) {
+        Objects.requireNonNull(element);
+        long key = Hashing.key(element);
+        Hashing.Hash128 hash = Hashing.hash128(key, Hashing.DEFAULT_SEED);
+        int blockStart = (int) Hashing.reduce(hash.h1, numBlocks) * wordsPerBlock;
+        long probe = hash.h2;
+        for (int i = 0; i < numHashes; i++) {
+            probe = probe * PROBE_MULTIPLIER + PROBE_INCREMENT;
+            int bit = (int) (probe >>> blockShift);
+            words[blockStart + (bit >>> 6)] |= 1L << bit;
+        }
+        size++;
+    }
+
+    @Override
+    public boolean contains(E element) {
+        Objects.requireNonNull(element);
+        long key = Hashing.key(element);
+        Hashing.Hash128 hash = Hashing.hash128(key, Hashing.DEFAULT_SEED);
+        int blockStart = (int) Hashing.reduce(hash.h1, numBlocks) * wordsPerBlock;
+        long probe = hash.h2;
+        for (int i = 0; i < numHashes; i++) {
+            probe = probe * PROBE_MULTIPLIER + PROBE_INCREMENT;
+            int bit = (int) (probe >>> blockShift);
+            if ((words[blockStart + (bit >>> 6)] & (1L << bit)) == 0)
+                return false;
+        }
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public double expectedFalsePositiveRate() {
+        return falsePositiveRate(numBlocks, blockBits, numHashes, size);
+    }
+
+    @Override
+    public void addAll(Collection<? extends E> collection) {
+        collection.forEach(this::add);
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(words, 0L);
+        size = 0;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean containsAll(Collection<? extends E> collection) {
+        return collection.stream().allMatch(this::contains);
+    }
+
+    @Override
+    public int getMemoryFootprintEstimate() {
+        // returns the memory footprint of the filter in bytes
+        return (int) Math.min(Integer.MAX_VALUE, (long) words.length * Long.BYTES);
+    }
+
+    @Override
+    public int getHashFunctionCount() {
+        return numHashes;
+    }
+
+    public int getBlockBits() {
+        return blockBits;
+    }
+}
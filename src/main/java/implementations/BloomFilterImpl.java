@@ -1,18 +1,27 @@
 package implementations;
 
 import api.BloomFilter;
+import api.BloomFilterStatistics;
 
 import java.util.BitSet;
 import java.util.Collection;
 import java.util.Objects;
-import java.util.function.Function;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.LongAdder;
 
 public class BloomFilterImpl<E> implements BloomFilter<E> {
 
     private BitSet filter;
     private int memoryFootprintEstimate;
+    private int numBits;
     private int numHashes;
     private int size;
+    // query counting is opt in so that contains() doesn't write shared state unless someone is watching
+    private volatile boolean queryStatisticsEnabled;
+    private final LongAdder queryCount = new LongAdder();
+    private final LongAdder positiveCount = new LongAdder();
 
     public BloomFilterImpl() {
         this(100_000L, 1e-7);
@@ -32,38 +41,43 @@ public class BloomFilterImpl<E> implements BloomFilter<E> {
             else
                 break;
         }
-        filter = new BitSet(memoryFootprintEstimate);
-        numHashes = (int) Math.round((double)(memoryFootprintEstimate / expectedElementCount) * Math.log(2D));
+        numBits = Math.max(1, memoryFootprintEstimate);
+        filter = new BitSet(numBits);
+        numHashes = (int) Math.max(1, Math.round(((double) numBits / expectedElementCount) * Math.log(2D)));
+    }
+
+    // creates an empty filter with the same geometry as the given one
+    private BloomFilterImpl(BloomFilterImpl<E> template) {
+        memoryFootprintEstimate = template.memoryFootprintEstimate;
+        numBits = template.numBits;
+        numHashes = template.numHashes;
+        filter = new BitSet(numBits);
     }
 
     @Override
     public void add(E element) {
         Objects.requireNonNull(element);
-        int[] hashCodes = generateHashCodes(element);
-        for (int i : hashCodes)
-            filter.set(Math.floorMod(i, filter.size()));
+        long key = Hashing.key(element);
+        Hashing.Hash128 hash = Hashing.hash128(key, Hashing.DEFAULT_SEED);
+        for (int i = 0; i < numHashes; i++)
+            filter.set((int) hash.probe(i, numBits));
         size++;
     }
 
     @Override
     public boolean contains(E element) {
         Objects.requireNonNull(element);
-        int[] hashCodes = generateHashCodes(element);
-        for (int i : hashCodes) {
-            if (!filter.get(Math.floorMod(i, filter.size())))
-                return false;
+        long key = Hashing.key(element);
+        Hashing.Hash128 hash = Hashing.hash128(key, Hashing.DEFAULT_SEED);
+        boolean found = true;
+        for (int i = 0; i < numHashes && found; i++)
+            found = filter.get((int) hash.probe(i, numBits));
+        if (queryStatisticsEnabled) {
+            queryCount.increment();
+            if (found)
+                positiveCount.increment();
         }
-        return true;
-    }
-
-    private int[] generateHashCodes(E element) {
-        int[] hashCodes = new int[numHashes];
-        int hashVal = element.hashCode();
-        for (int i = 0; i < numHashes; i++) {
-            hashCodes[i] = Integer.hashCode(hashVal);
-            hashVal = hashCodes[i];
-        }
-        return hashCodes;
+        return found;
     }
 
     @Override
@@ -74,7 +88,22 @@ public class BloomFilterImpl<E> implements BloomFilter<E> {
     @Override
     public double expectedFalsePositiveRate() {
         // Uses Goel and Gupta's formula for an upper bound on the false positive rate of the bloom filter
-        return Math.pow(1 - Math.pow(Math.E, ((numHashes * (size + 0.5)) / (filter.length() - 1))  * -1), numHashes);
+        return Math.pow(1 - Math.pow(Math.E, ((numHashes * (size + 0.5)) / Math.max(1, numBits - 1))  * -1), numHashes);
+    }
+
+    // Counts set bits with a popcount per word, a few hundred microseconds for a filter of millions of elements.
+    // Query and positive counts stay zero unless query statistics are enabled.
+    public BloomFilterStatistics statistics() {
+        return new BloomFilterStatistics(numBits, filter.cardinality(), numHashes, size, queryCount.sum(), positiveCount.sum());
+    }
+
+    // When enabled, every contains() call is counted with contention free adders that any thread can read.
+    public void setQueryStatisticsEnabled(boolean enabled) {
+        queryStatisticsEnabled = enabled;
+    }
+
+    public boolean isQueryStatisticsEnabled() {
+        return queryStatisticsEnabled;
     }
 
     @Override
@@ -86,6 +115,8 @@ public class BloomFilterImpl<E> implements BloomFilter<E> {
     public void clear() {
         filter.clear();
         size = 0;
+        queryCount.reset();
+        positiveCount.reset();
     }
 
     @Override
@@ -95,7 +126,11 @@ public class BloomFilterImpl<E> implements BloomFilter<E> {
 
     @Override
     public boolean containsAll(Collection<? extends E> collection) {
-        return collection.stream().allMatch(this::contains);
+        for (E element : collection) {
+            if (!contains(element))
+                return false;
+        }
+        return true;
     }
 
     @Override
@@ -108,4 +143,70 @@ public class BloomFilterImpl<E> implements BloomFilter<E> {
     public int getHashFunctionCount() {
         return numHashes;
     }
+
+    // Adds every element of the other filter to this one. Both filters must have the same geometry.
+    public void union(BloomFilter<E> other) {
+        BloomFilterImpl<E> compatible = checkCompatible(other);
+        filter.or(compatible.filter);
+        size += compatible.size;
+    }
+
+    // Keeps only the bits set in both filters. The result answers contains() for elements added to both
+    // filters, but may report more false positives than a filter built from the intersection directly.
+    public void intersect(BloomFilter<E> other) {
+        BloomFilterImpl<E> compatible = checkCompatible(other);
+        filter.and(compatible.filter);
+        size = Math.min(size, compatible.size);
+    }
+
+    private BloomFilterImpl<E> checkCompatible(BloomFilter<E> other) {
+        Objects.requireNonNull(other);
+        if (!(other instanceof BloomFilterImpl))
+            throw new IllegalArgumentException("Only filters of the same implementation can be combined");
+        BloomFilterImpl<E> compatible = (BloomFilterImpl<E>) other;
+        if (compatible.numBits != numBits || compatible.numHashes != numHashes)
+            throw new IllegalArgumentException("Only filters with the same bit count and hash function count can be combined");
+        return compatible;
+    }
+
+    // Adds every element of the source using the common fork join pool. The source is split at most
+    // log2(parallelism) + 2 times deep, so there are never more than about four chunks per worker even
+    // when the spliterator can't report its size. Each chunk fills its own filter and the partial filters
+    // are or-merged.
+    public void parallelBuild(Spliterator<? extends E> source) {
+        Objects.requireNonNull(source);
+        int parallelism = ForkJoinPool.getCommonPoolParallelism();
+        int maxDepth = (Integer.SIZE - Integer.numberOfLeadingZeros(parallelism - 1)) + 2;
+        union(ForkJoinPool.commonPool().invoke(new BuildTask(source, maxDepth)));
+    }
+
+    private class BuildTask extends RecursiveTask<BloomFilterImpl<E>> {
+
+        private static final long serialVersionUID = 1L;
+        // chunks this small are not worth a filter of their own
+        private static final long MIN_CHUNK = 1024;
+
+        private final Spliterator<? extends E> source;
+        private final int depth;
+
+        public BuildTask(Spliterator<? extends E> source, int depth) {
+            this.source = source;
+            this.depth = depth;
+        }
+
+        @Override
+        protected BloomFilterImpl<E> compute() {
+            Spliterator<? extends E> prefix = (depth > 0 && source.estimateSize() > MIN_CHUNK) ? source.trySplit() : null;
+            if (prefix == null) {
+                BloomFilterImpl<E> partial = new BloomFilterImpl<>(BloomFilterImpl.this);
+                source.forEachRemaining(partial::add);
+                return partial;
+            }
+            BuildTask prefixTask = new BuildTask(prefix, depth - 1);
+            prefixTask.fork();
+            BloomFilterImpl<E> partial = new BuildTask(source, depth - 1).compute();
+            partial.union(prefixTask.join());
+            return partial;
+        }
+    }
 }
@@ -0,0 +1,30 @@
+package implementations;
+
+final class BloomFilterMath {
+
+    private static final double LN2_SQUARED = Math.log(2) * Math.log(2);
+
+    private BloomFilterMath() {
+    }
+
+    static long optimalBitCount(long expectedElementCount, double falsePositiveRate) {
+        checkArguments(expectedElementCount, falsePositiveRate);
+        return Math.max(Long.SIZE, (long) Math.ceil(-expectedElementCount * Math.log(falsePositiveRate) / LN2_SQUARED));
+    }
+
+    static int optimalHashCount(long bitCount, long expectedElementCount) {
+        return (int) Math.max(1, Math.round(((double) bitCount / expectedElementCount) * Math.log(2)));
+    }
+
+    // Goel and Gupta's upper bound on the false positive rate after inserting elementCount elements
+    static double falsePositiveRate(long bitCount, int hashCount, long elementCount) {
+        return Math.pow(1 - Math.exp(-(hashCount * (elementCount + 0.5)) / (bitCount - 1)), hashCount);
+    }
+
+    static void checkArguments(long expectedElementCount, double falsePositiveRate) {
+        if (expectedElementCount <= 0)
+            throw new IllegalArgumentException("Expected element count must be positive");
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1)
+            throw new IllegalArgumentException("False positive rate must be between 0 and 1");
+    }
+}
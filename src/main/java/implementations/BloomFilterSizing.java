@@ -0,0 +1,65 @@
+package implementations;
+
+import api.CardinalityEstimator;
+
+// Optimal bloom filter geometry for an element count and target false positive rate.
+public class BloomFilterSizing {
+
+    private final long expectedElementCount;
+    private final double falsePositiveRate;
+    private final long bitCount;
+    private final int hashFunctionCount;
+
+    private BloomFilterSizing(long expectedElementCount, double falsePositiveRate) {
+        this.expectedElementCount = expectedElementCount;
+        this.falsePositiveRate = falsePositiveRate;
+        this.bitCount = BloomFilterMath.optimalBitCount(expectedElementCount, falsePositiveRate);
+        this.hashFunctionCount = BloomFilterMath.optimalHashCount(bitCount, expectedElementCount);
+    }
+
+    public static BloomFilterSizing forElementCount(long expectedElementCount, double falsePositiveRate) {
+        return new BloomFilterSizing(expectedElementCount, falsePositiveRate);
+    }
+
+    // Sizes for the sketch's distinct count estimate plus standardErrors times its relative standard error
+    // (when the sketch is a HyperLogLog), so the filter isn't undersized when the sketch underestimates.
+    public static BloomFilterSizing forSketch(CardinalityEstimator<?> sketch, double falsePositiveRate, double standardErrors) {
+        double margin = (sketch instanceof HyperLogLog) ? standardErrors * ((HyperLogLog<?>) sketch).relativeStandardError() : 0;
+        long elementCount = Math.max(1, (long) Math.ceil(sketch.estimate() * (1 + margin)));
+        return new BloomFilterSizing(elementCount, falsePositiveRate);
+    }
+
+    public static BloomFilterSizing forSketch(CardinalityEstimator<?> sketch, double falsePositiveRate) {
+        return forSketch(sketch, falsePositiveRate, 3);
+    }
+
+    public long getExpectedElementCount() {
+        return expectedElementCount;
+    }
+
+    public double getFalsePositiveRate() {
+        return falsePositiveRate;
+    }
+
+    public long getBitCount() {
+        return bitCount;
+    }
+
+    public int getHashFunctionCount() {
+        return hashFunctionCount;
+    }
+
+    public long getByteCount() {
+        return (bitCount + Byte.SIZE - 1) / Byte.SIZE;
+    }
+
+    @Override
+    public String toString() {
+        return "BloomFilterSizing{" +
+                "expectedElementCount=" + expectedElementCount +
+                ", falsePositiveRate=" + falsePositiveRate +
+                ", bitCount=" + bitCount +
+                ", hashFunctionCount=" + hashFunctionCount +
+                '}';
+    }
+}
@@ -0,0 +1,97 @@
+package implementations;
+
+import api.BloomFilter;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+// Thread safe bloom filter. Writers set bits with CAS-OR and never block each other, readers never
+// write shared state, and the element count is striped across a LongAdder.
+public class ConcurrentBloomFilter<E> implements BloomFilter<E> {
+
+    private final AtomicBitArray bits;
+    private final long numBits;
+    private final int numHashes;
+    private final LongAdder size;
+
+    public ConcurrentBloomFilter() {
+        this(100_000L, 1e-7);
+    }
+
+    public ConcurrentBloomFilter(long expectedElementCount) {
+        this(expectedElementCount, 1e-7);
+    }
+
+    public ConcurrentBloomFilter(long expectedElementCount, double desiredFalsePositiveRate) {
+        numBits = BloomFilterMath.optimalBitCount(expectedElementCount, desiredFalsePositiveRate);
+        numHashes = BloomFilterMath.optimalHashCount(numBits, expectedElementCount);
+        bits = new AtomicBitArray(numBits);
+        size = new LongAdder();
+    }
+
+    @Override
+    public void add(E element) {
+        Objects.requireNonNull(element);
+        long key = Hashing.key(element);
+        Hashing.Hash128 hash = Hashing.hash128(key, Hashing.DEFAULT_SEED);
+        for (int i = 0; i < numHashes; i++)
+            bits.set(hash.probe(i, numBits));
+        size.increment();
+    }
+
+    @Override
+    public boolean contains(E element) {
+        Objects.requireNonNull(element);
+        long key = Hashing.key(element);
+        Hashing.Hash128 hash = Hashing.hash128(key, Hashing.DEFAULT_SEED);
+        for (int i = 0; i < numHashes; i++) {
+            if (!bits.get(hash.probe(i, numBits)))
+                return false;
+        }
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return (int) Math.min(Integer.MAX_VALUE, size.sum());
+    }
+
+    @Override
+    public double expectedFalsePositiveRate() {
+        return BloomFilterMath.falsePositiveRate(numBits, numHashes, size.sum());
+    }
+
+    @Override
+    public void addAll(Collection<? extends E> collection) {
+        collection.forEach(this::add);
+    }
+
+    // Not atomic with respect to concurrent writers, elements added while clearing may be partially kept
+    @Override
+    public void clear() {
+        bits.clear();
+        size.reset();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size.sum() == 0;
+    }
+
+    @Override
+    public boolean containsAll(Collection<? extends E> collection) {
+        return collection.stream().allMatch(this::contains);
+    }
+
+    @Override
+    public int getMemoryFootprintEstimate() {
+        // returns the memory footprint of the filter in bytes
+        return (int) Math.min(Integer.MAX_VALUE, bits.byteSize());
+    }
+
+    @Override
+    public int getHashFunctionCount() {
+        return numHashes;
+    }
+}
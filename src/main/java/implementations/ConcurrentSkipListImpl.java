@@ -0,0 +1,323 @@
+package implementations;
+
+import api.SkipList;
+
+import java.lang.reflect.Array;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicMarkableReference;
+
+// Lock-free skip list (Herlihy and Shavit). Every forward link is an AtomicMarkableReference whose mark
+// flags the owning node as logically deleted at that level. A remove marks a node's links from the top
+// level down, and the level 0 mark is the point the element leaves the set. Writers unlink marked nodes
+// with a CAS on their predecessor as they pass them, while contains never writes or retries, so reads are
+// wait-free. Node heights are drawn once from a geometric distribution and never change afterwards.
+public class ConcurrentSkipListImpl<E> implements SkipList<E> {
+
+    public static final int MAX_HEIGHT = 32;
+
+    private final Node<E> head;
+    private final AtomicInteger size;
+    // highest level any node has been linked at, only used to skip empty levels when searching
+    private final AtomicInteger height;
+    // final so the comparator is safely published to every thread that sees the list
+    private final Comparator<E> comparator;
+
+    public ConcurrentSkipListImpl(Comparator<E> comparator) {
+        this.comparator = comparator;
+        head = new Node<>(null, MAX_HEIGHT);
+        size = new AtomicInteger();
+        height = new AtomicInteger(1);
+    }
+
+    public ConcurrentSkipListImpl() {
+        this(null);
+    }
+
+    // Exact when the list is quiescent. Under contention it may briefly count an add whose level 0 link
+    // is still in flight, but it never drops below the number of elements present.
+    @Override
+    public int size() {
+        return size.get();
+    }
+
+    // the height is the tallest level ever used and doesn't shrink when elements are removed
+    @Override
+    public int getHeight() {
+        return height.get();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size.get() == 0;
+    }
+
+    @Override
+    public boolean contains(E e) {
+        Objects.requireNonNull(e);
+        boolean[] marked = {false};
+        Node<E> pred = head;
+        Node<E> current = null;
+        for (int level = height.get() - 1; level >= 0; level--) {
+            current = pred.next[level].getReference();
+            while (current != null) {
+                Node<E> successor = current.next[level].get(marked);
+                // step over nodes that are being removed without helping to unlink them
+                while (marked[0]) {
+                    current = successor;
+                    if (current == null)
+                        break;
+                    successor = current.next[level].get(marked);
+                }
+                if (current == null || compare(current.data, e) >= 0)
+                    break;
+                pred = current;
+                current = successor;
+            }
+        }
+        return current != null && compare(current.data, e) == 0;
+    }
+
+    @Override
+    public boolean add(E e) {
+        Objects.requireNonNull(e);
+        int nodeHeight = genNodeHeight();
+        @SuppressWarnings("unchecked")
+        Node<E>[] preds = (Node<E>[]) new Node<?>[MAX_HEIGHT];
+        @SuppressWarnings("unchecked")
+        Node<E>[] succs = (Node<E>[]) new Node<?>[MAX_HEIGHT];
+        while (true) {
+            if (find(e, preds, succs))
+                return false;
+            Node<E> newNode = new Node<>(e, nodeHeight);
+            for (int level = 0; level < nodeHeight; level++)
+                newNode.next[level].set(succs[level], false);
+            // counted before it becomes visible, so a remove that overtakes this add can't drive size below zero
+            size.incrementAndGet();
+            // linking level 0 is the point the element joins the set
+            if (!preds[0].next[0].compareAndSet(succs[0], newNode, false, false)) {
+                size.decrementAndGet();
+                continue;
+            }
+            height.accumulateAndGet(nodeHeight, Math::max);
+            linkUpperLevels(newNode, preds, succs);
+            return true;
+        }
+    }
+
+    private void linkUpperLevels(Node<E> newNode, Node<E>[] preds, Node<E>[] succs) {
+        boolean[] marked = {false};
+        for (int level = 1; level < newNode.next.length; level++) {
+            while (true) {
+                Node<E> successor = newNode.next[level].get(marked);
+                // a concurrent remove has started, so the rest of the tower is no longer needed
+                if (marked[0])
+                    return;
+                if (successor != succs[level] && !newNode.next[level].compareAndSet(successor, succs[level], false, false))
+                    continue;
+                if (preds[level].next[level].compareAndSet(succs[level], newNode, false, false))
+                    break;
+                if (!find(newNode.data, preds, succs) || succs[0] != newNode)
+                    return;
+            }
+        }
+    }
+
+    @Override
+    public boolean remove(E e) {
+        Objects.requireNonNull(e);
+        @SuppressWarnings("unchecked")
+        Node<E>[] preds = (Node<E>[]) new Node<?>[MAX_HEIGHT];
+        @SuppressWarnings("unchecked")
+        Node<E>[] succs = (Node<E>[]) new Node<?>[MAX_HEIGHT];
+        boolean[] marked = {false};
+        if (!find(e, preds, succs))
+            return false;
+        Node<E> victim = succs[0];
+        for (int level = victim.next.length - 1; level > 0; level--) {
+            Node<E> successor = victim.next[level].get(marked);
+            while (!marked[0]) {
+                victim.next[level].compareAndSet(successor, successor, false, true);
+                successor = victim.next[level].get(marked);
+            }
+        }
+        Node<E> successor = victim.next[0].get(marked);
+        while (true) {
+            boolean markedByThisThread = victim.next[0].compareAndSet(successor, successor, false, true);
+            successor = victim.next[0].get(marked);
+            if (markedByThisThread) {
+                size.decrementAndGet();
+                // unlinks the victim from every level
+                find(e, preds, succs);
+                return true;
+            }
+            if (marked[0])
+                return false;
+        }
+    }
+
+    // Fills preds and succs with the nodes either side of e on every level, unlinking marked nodes on the
+    // way. Returns true if an unmarked node holding e is in the list. A node raises the height before it
+    // links any level above 0, so the levels at or above the height read here are empty and only need
+    // head and null filled in.
+    private boolean find(E e, Node<E>[] preds, Node<E>[] succs) {
+        boolean[] marked = {false};
+        retry:
+        while (true) {
+            int top = height.get();
+            Arrays.fill(preds, top, MAX_HEIGHT, head);
+            Arrays.fill(succs, top, MAX_HEIGHT, null);
+            Node<E> pred = head;
+            Node<E> current = null;
+            for (int level = top - 1; level >= 0; level--) {
+                current = pred.next[level].getReference();
+                while (current != null) {
+                    Node<E> successor = current.next[level].get(marked);
+                    while (marked[0]) {
+                        if (!pred.next[level].compareAndSet(current, successor, false, false))
+                            continue retry;
+                        current = successor;
+                        if (current == null)
+                            break;
+                        successor = current.next[level].get(marked);
+                    }
+                    if (current == null || compare(current.data, e) >= 0)
+                        break;
+                    pred = current;
+                    current = successor;
+                }
+                preds[level] = pred;
+                succs[level] = current;
+            }
+            return current != null && compare(current.data, e) == 0;
+        }
+    }
+
+    private int genNodeHeight() {
+        // geometric with p = 1/2, one random long gives up to 63 coin flips
+        long bits = ThreadLocalRandom.current().nextLong();
+        return Math.min(MAX_HEIGHT, Long.numberOfTrailingZeros(bits) + 1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private int compare(Object o1, Object o2) {
+        return (comparator != null) ? comparator.compare((E) o1, (E) o2) : ((Comparable<E>) o1).compareTo((E) o2);
+    }
+
+    @Override
+    public boolean containsAll(Collection<? extends E> collection) {
+        Objects.requireNonNull(collection);
+        return collection.stream().allMatch(this::contains);
+    }
+
+    // returns true if any element was added
+    @Override
+    public boolean addAll(Collection<? extends E> collection) {
+        Objects.requireNonNull(collection);
+        boolean changed = false;
+        for (E e : collection)
+            changed |= add(e);
+        return changed;
+    }
+
+    // returns true if any element was removed
+    @Override
+    public boolean removeAll(Collection<? extends E> collection) {
+        Objects.requireNonNull(collection);
+        boolean changed = false;
+        for (E e : collection)
+            changed |= remove(e);
+        return changed;
+    }
+
+    // Removes the elements one at a time, so elements added while clear runs may survive it.
+    @Override
+    public void clear() {
+        for (E e : this)
+            remove(e);
+    }
+
+    // Iterators are weakly consistent, they never throw ConcurrentModificationException and see every
+    // element that stays in the list for the whole iteration.
+    @Override
+    public Iterator<E> iterator() {
+        return new SkipListIterator();
+    }
+
+    @Override
+    public Object[] toArray() {
+        List<E> elements = new ArrayList<>(size());
+        forEach(elements::add);
+        return elements.toArray();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T[] toArray(T[] a) {
+        List<E> elements = new ArrayList<>(size());
+        forEach(elements::add);
+        T[] returnArray = (a.length >= elements.size()) ? a : (T[]) Array.newInstance(a.getClass().componentType(), elements.size());
+        for (int i = 0; i < elements.size(); i++)
+            returnArray[i] = (T) elements.get(i);
+        return returnArray;
+    }
+
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < height.get(); i++) {
+            sb.append("Level ").append(i + 1).append(": ");
+            Node<E> current = head.next[i].getReference();
+            while (current != null) {
+                if (!current.next[i].isMarked())
+                    sb.append(current.data).append(" -> ");
+                current = current.next[i].getReference();
+            }
+            sb.append(System.lineSeparator());
+        }
+        return sb.toString();
+    }
+
+    private static class Node<E> {
+        private final E data;
+        private final AtomicMarkableReference<Node<E>>[] next;
+
+        @SuppressWarnings("unchecked")
+        public Node(E data, int height) {
+            this.data = data;
+            this.next = (AtomicMarkableReference<Node<E>>[]) new AtomicMarkableReference<?>[height];
+            for (int i = 0; i < height; i++)
+                next[i] = new AtomicMarkableReference<>(null, false);
+        }
+    }
+
+    private class SkipListIterator implements Iterator<E> {
+
+        private Node<E> next;
+
+        public SkipListIterator() {
+            next = advance(head);
+        }
+
+        private Node<E> advance(Node<E> node) {
+            Node<E> current = node.next[0].getReference();
+            while (current != null && current.next[0].isMarked())
+                current = current.next[0].getReference();
+            return current;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public E next() {
+            if (next == null)
+                throw new NoSuchElementException();
+            E retVal = next.data;
+            next = advance(next);
+            return retVal;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package implementations;
+
+import api.FrequencySketch;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+// Count-Min sketch (Cormode and Muthukrishnan). Each of the depth rows has width counters and an element
+// updates one counter per row, picked with the same double hashing pipeline the bloom filters use.
+// Estimates never undercount, and with width = e / epsilon and depth = ln(1 / delta) they overcount by
+// more than epsilon * totalCount() with probability at most delta. With conservative update an add only
+// raises the counters that are below the new minimum, which tightens the estimates but makes the
+// sketch unable to handle negative counts.
+public class CountMinSketch<E> implements FrequencySketch<E> {
+
+    private final long[] table;
+    private final int width;
+    private final int depth;
+    private final boolean conservativeUpdate;
+    private long totalCount;
+
+    public CountMinSketch(double epsilon, double delta) {
+        this(epsilon, delta, false);
+    }
+
+    public CountMinSketch(double epsilon, double delta, boolean conservativeUpdate) {
+        this(widthFor(epsilon), depthFor(delta), conservativeUpdate);
+    }
+
+    public CountMinSketch(int width, int depth, boolean conservativeUpdate) {
+        if (width <= 0 || depth <= 0)
+            throw new IllegalArgumentException("Width and depth must be positive");
+        if ((long) width * depth > Integer.MAX_VALUE - 8)
+            throw new IllegalArgumentException("Sketch would exceed the maximum array size");
+        this.width = width;
+        this.depth = depth;
+        this.conservativeUpdate = conservativeUpdate;
+        this.table = new long[width * depth];
+    }
+
+    private static int widthFor(double epsilon) {
+        if (epsilon <= 0 || epsilon >= 1)
+            throw new IllegalArgumentException("Epsilon must be between 0 and 1");
+        return (int) Math.ceil(Math.E / epsilon);
+    }
+
+    private static int depthFor(double delta) {
+        if (delta <= 0 || delta >= 1)
+            throw new IllegalArgumentException("Delta must be between 0 and 1");
+        return (int) Math.ceil(Math.log(1 / delta));
+    }
+
+    @Override
+    public void add(E element) {
+        add(element, 1);
+    }
+
+    @Override
+    public void add(E element, long count) {
+        Objects.requireNonNull(element);
+        if (count < 0)
+            throw new IllegalArgumentException("Count must not be negative");
+        long key = Hashing.key(element);
+        Hashing.Hash128 hash = Hashing.hash128(key, Hashing.DEFAULT_SEED);
+        if (conservativeUpdate) {
+            long target = estimate(hash) + count;
+            for (int row = 0; row < depth; row++) {
+                int index = row * width + (int) hash.probe(row, width);
+                if (table[index] < target)
+                    table[index] = target;
+            }
+        } else {
+            for (int row = 0; row < depth; row++)
+                table[row * width + (int) hash.probe(row, width)] += count;
+        }
+        totalCount += count;
+    }
+
+    @Override
+    public long estimateCount(E element) {
+        Objects.requireNonNull(element);
+        long key = Hashing.key(element);
+        return estimate(Hashing.hash128(key, Hashing.DEFAULT_SEED));
+    }
+
+    private long estimate(Hashing.Hash128 hash) {
+        long minimum = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++)
+            minimum = Math.min(minimum, table[row * width + (int) hash.probe(row, width)]);
+        return minimum;
+    }
+
+    @Override
+    public long totalCount() {
+        return totalCount;
+    }
+
+    // Adds the counts of a sketch with the same width and depth, the result estimates the combined stream
+    @Override
+    public void merge(FrequencySketch<E> other) {
+        Objects.requireNonNull(other);
+        if (!(other instanceof CountMinSketch))
+            throw new IllegalArgumentException("Only sketches of the same implementation can be merged");
+        CountMinSketch<E> sketch = (CountMinSketch<E>) other;
+        if (sketch.width != width || sketch.depth != depth)
+            throw new IllegalArgumentException("Only sketches with the same width and depth can be merged");
+        for (int i = 0; i < table.length; i++)
+            table[i] += sketch.table[i];
+        totalCount += sketch.totalCount;
+    }
+
+    // Halves every counter so old activity fades out, used to age a sketch that tracks recent frequency
+    public void halve() {
+        for (int i = 0; i < table.length; i++)
+            table[i] >>>= 1;
+        totalCount >>>= 1;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(table, 0L);
+        totalCount = 0;
+    }
+
+    @Override
+    public int getMemoryFootprintEstimate() {
+        // returns the memory footprint of the counters in bytes
+        return (int) Math.min(Integer.MAX_VALUE, (long) table.length * Long.BYTES);
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public boolean isConservativeUpdate() {
+        return conservativeUpdate;
+    }
+}
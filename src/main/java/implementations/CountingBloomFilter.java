@@ -0,0 +1,129 @@
+package implementations;
+
+import api.RemovableBloomFilter;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Objects;
+
+// Bloom filter with 4 bit counters in place of bits, packed 16 to a long. A counter that reaches 15
+// is saturated and never decremented again, so overflow can't cause false negatives. Removal is only
+// safe for elements that were actually added: removing a false positive decrements counters that
+// belong to other elements and can make them disappear from the filter.
+public class CountingBloomFilter<E> implements RemovableBloomFilter<E> {
+
+    private static final int COUNTER_BITS = 4;
+    private static final long COUNTER_MASK = 0xFL;
+    private static final int COUNTERS_PER_WORD = Long.SIZE / COUNTER_BITS;
+
+    private final long[] counters;
+    private final long numCounters;
+    private final int numHashes;
+    private int size;
+
+    public CountingBloomFilter() {
+        this(100_000L, 1e-7);
+    }
+
+    public CountingBloomFilter(long expectedElementCount) {
+        this(expectedElementCount, 1e-7);
+    }
+
+    public CountingBloomFilter(long expectedElementCount, double desiredFalsePositiveRate) {
+        numCounters = BloomFilterMath.optimalBitCount(expectedElementCount, desiredFalsePositiveRate);
+        long wordCount = (numCounters + COUNTERS_PER_WORD - 1) / COUNTERS_PER_WORD;
+        if (wordCount > Integer.MAX_VALUE - 8)
+            throw new IllegalArgumentException("Filter would exceed the maximum array size");
+        counters = new long[(int) wordCount];
+        numHashes = BloomFilterMath.optimalHashCount(numCounters, expectedElementCount);
+    }
+
+    @Override
+    public void add(E element) {
+        Objects.requireNonNull(element);
+        long key = Hashing.key(element);
+        Hashing.Hash128 hash = Hashing.hash128(key, Hashing.DEFAULT_SEED);
+        for (int i = 0; i < numHashes; i++) {
+            long counter = hash.probe(i, numCounters);
+            int word = (int) (counter / COUNTERS_PER_WORD);
+            int shift = (int) (counter % COUNTERS_PER_WORD) * COUNTER_BITS;
+            if (((counters[word] >>> shift) & COUNTER_MASK) != COUNTER_MASK)
+                counters[word] += 1L << shift;
+        }
+        size++;
+    }
+
+    @Override
+    public boolean contains(E element) {
+        Objects.requireNonNull(element);
+        long key = Hashing.key(element);
+        Hashing.Hash128 hash = Hashing.hash128(key, Hashing.DEFAULT_SEED);
+        for (int i = 0; i < numHashes; i++) {
+            long counter = hash.probe(i, numCounters);
+            int shift = (int) (counter % COUNTERS_PER_WORD) * COUNTER_BITS;
+            if (((counters[(int) (counter / COUNTERS_PER_WORD)] >>> shift) & COUNTER_MASK) == 0)
+                return false;
+        }
+        return true;
+    }
+
+    @Override
+    public boolean remove(E element) {
+        if (!contains(element))
+            return false;
+        long key = Hashing.key(element);
+        Hashing.Hash128 hash = Hashing.hash128(key, Hashing.DEFAULT_SEED);
+        for (int i = 0; i < numHashes; i++) {
+            long counter = hash.probe(i, numCounters);
+            int word = (int) (counter / COUNTERS_PER_WORD);
+            int shift = (int) (counter % COUNTERS_PER_WORD) * COUNTER_BITS;
+            long value = (counters[word] >>> shift) & COUNTER_MASK;
+            if (value != COUNTER_MASK && value != 0)
+                counters[word] -= 1L << shift;
+        }
+        size--;
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public double expectedFalsePositiveRate() {
+        return BloomFilterMath.falsePositiveRate(numCounters, numHashes, size);
+    }
+
+    @Override
+    public void addAll(Collection<? extends E> collection) {
+        collection.forEach(this::add);
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(counters, 0L);
+        size = 0;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean containsAll(Collection<? extends E> collection) {
+        return collection.stream().allMatch(this::contains);
+    }
+
+    @Override
+    public int getMemoryFootprintEstimate() {
+        // returns the memory footprint of the counters in bytes
+        return (int) Math.min(Integer.MAX_VALUE, (long) counters.length * Long.BYTES);
+    }
+
+    @Override
+    public int getHashFunctionCount() {
+        return numHashes;
+    }
+}
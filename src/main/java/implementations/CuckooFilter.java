@@ -0,0 +1,218 @@
+package implementations;
+
+import api.RemovableBloomFilter;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Objects;
+
+// Cuckoo filter (Fan et al.). Each element is stored as a short fingerprint in one of two candidate
+// buckets of four slots, so a lookup reads at most two buckets. The alternate bucket is derived from the
+// fingerprint alone as (hash(fingerprint) - bucket) mod bucketCount, which is its own inverse for any
+// bucket count, so the table doesn't need a power of two size. Fingerprints are packed into a long[].
+public class CuckooFilter<E> implements RemovableBloomFilter<E> {
+
+    public static final int SLOTS_PER_BUCKET = 4;
+    private static final int MAX_KICKS = 500;
+    // achievable load factor with four slot buckets
+    private static final double LOAD_FACTOR = 0.955;
+
+    private final long[] table;
+    private final int fingerprintBits;
+    private final long fingerprintMask;
+    private final int numBuckets;
+    private int victimFingerprint;
+    private int victimBucket;
+    private int size;
+
+    public CuckooFilter() {
+        this(100_000L, 1e-7);
+    }
+
+    public CuckooFilter(long expectedElementCount) {
+        this(expectedElementCount, 1e-7);
+    }
+
+    public CuckooFilter(long expectedElementCount, double desiredFalsePositiveRate) {
+        BloomFilterMath.checkArguments(expectedElementCount, desiredFalsePositiveRate);
+        // a lookup compares against 2 * SLOTS_PER_BUCKET fingerprints, each matching with probability 2^-f
+        fingerprintBits = (int) Math.min(32, Math.max(4, Math.ceil(Math.log(2.0 * SLOTS_PER_BUCKET / desiredFalsePositiveRate) / Math.log(2))));
+        fingerprintMask = (1L << fingerprintBits) - 1;
+        long buckets = Math.max(1, (long) Math.ceil(expectedElementCount / (SLOTS_PER_BUCKET * LOAD_FACTOR)));
+        long words = (buckets * SLOTS_PER_BUCKET * fingerprintBits + Long.SIZE - 1) / Long.SIZE;
+        if (buckets > Integer.MAX_VALUE || words > Integer.MAX_VALUE - 8)
+            throw new IllegalArgumentException("Filter would exceed the maximum array size");
+        numBuckets = (int) buckets;
+        table = new long[(int) words + 1];
+    }
+
+    @Override
+    public void add(E element) {
+        Objects.requireNonNull(element);
+        if (victimFingerprint != 0)
+            throw new IllegalStateException("The cuckoo filter is full");
+        long hash = Hashing.hash1(Hashing.key(element), Hashing.DEFAULT_SEED);
+        int fingerprint = fingerprint(hash);
+        int bucket = (int) Hashing.reduce(hash >>> 32, numBuckets);
+        size++;
+        if (insertIntoBucket(bucket, fingerprint))
+            return;
+        bucket = alternateBucket(bucket, fingerprint);
+        if (insertIntoBucket(bucket, fingerprint))
+            return;
+        // both buckets are full, evict fingerprints along the cuckoo path until one finds a free slot
+        int kickSlot = (int) (hash & (SLOTS_PER_BUCKET - 1));
+        for (int kick = 0; kick < MAX_KICKS; kick++) {
+            int evicted = readSlot(bucket, kickSlot);
+            writeSlot(bucket, kickSlot, fingerprint);
+            fingerprint = evicted;
+            bucket = alternateBucket(bucket, fingerprint);
+            if (insertIntoBucket(bucket, fingerprint))
+                return;
+            kickSlot = (kickSlot + 1) & (SLOTS_PER_BUCKET - 1);
+        }
+        // keep the last evicted fingerprint aside so no previously added element is lost
+        victimFingerprint = fingerprint;
+        victimBucket = bucket;
+    }
+
+    @Override
+    public boolean contains(E element) {
+        Objects.requireNonNull(element);
+        long hash = Hashing.hash1(Hashing.key(element), Hashing.DEFAULT_SEED);
+        int fingerprint = fingerprint(hash);
+        int bucket = (int) Hashing.reduce(hash >>> 32, numBuckets);
+        int alternate = alternateBucket(bucket, fingerprint);
+        return bucketContains(bucket, fingerprint) || bucketContains(alternate, fingerprint)
+                || (victimFingerprint == fingerprint && (victimBucket == bucket || victimBucket == alternate));
+    }
+
+    @Override
+    public boolean remove(E element) {
+        Objects.requireNonNull(element);
+        long hash = Hashing.hash1(Hashing.key(element), Hashing.DEFAULT_SEED);
+        int fingerprint = fingerprint(hash);
+        int bucket = (int) Hashing.reduce(hash >>> 32, numBuckets);
+        int alternate = alternateBucket(bucket, fingerprint);
+        if (victimFingerprint == fingerprint && (victimBucket == bucket || victimBucket == alternate)) {
+            victimFingerprint = 0;
+        } else if (!removeFromBucket(bucket, fingerprint) && !removeFromBucket(alternate, fingerprint)) {
+            return false;
+        }
+        size--;
+        if (victimFingerprint != 0 && insertIntoBucket(victimBucket, victimFingerprint))
+            victimFingerprint = 0;
+        return true;
+    }
+
+    // zero marks an empty slot, so fingerprints are drawn from [1, 2^f)
+    private int fingerprint(long hash) {
+        int fingerprint = (int) (hash & fingerprintMask);
+        return (fingerprint == 0) ? 1 : fingerprint;
+    }
+
+    private int alternateBucket(int bucket, int fingerprint) {
+        long fingerprintHash = Hashing.fmix64(fingerprint) & Integer.MAX_VALUE;
+        return (int) Math.floorMod(fingerprintHash - bucket, (long) numBuckets);
+    }
+
+    private boolean insertIntoBucket(int bucket, int fingerprint) {
+        for (int slot = 0; slot < SLOTS_PER_BUCKET; slot++) {
+            if (readSlot(bucket, slot) == 0) {
+                writeSlot(bucket, slot, fingerprint);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean bucketContains(int bucket, int fingerprint) {
+        for (int slot = 0; slot < SLOTS_PER_BUCKET; slot++) {
+            if (readSlot(bucket, slot) == fingerprint)
+                return true;
+        }
+        return false;
+    }
+
+    private boolean removeFromBucket(int bucket, int fingerprint) {
+        for (int slot = 0; slot < SLOTS_PER_BUCKET; slot++) {
+            if (readSlot(bucket, slot) == fingerprint) {
+                writeSlot(bucket, slot, 0);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int readSlot(int bucket, int slot) {
+        long bit = ((long) bucket * SLOTS_PER_BUCKET + slot) * fingerprintBits;
+        int word = (int) (bit >>> 6);
+        int offset = (int) (bit & 63);
+        long value = table[word] >>> offset;
+        if (offset + fingerprintBits > Long.SIZE)
+            value |= table[word + 1] << (Long.SIZE - offset);
+        return (int) (value & fingerprintMask);
+    }
+
+    private void writeSlot(int bucket, int slot, int fingerprint) {
+        long bit = ((long) bucket * SLOTS_PER_BUCKET + slot) * fingerprintBits;
+        int word = (int) (bit >>> 6);
+        int offset = (int) (bit & 63);
+        long value = fingerprint & fingerprintMask;
+        table[word] = (table[word] & ~(fingerprintMask << offset)) | (value << offset);
+        if (offset + fingerprintBits > Long.SIZE) {
+            int spill = Long.SIZE - offset;
+            table[word + 1] = (table[word + 1] & ~(fingerprintMask >>> spill)) | (value >>> spill);
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public double expectedFalsePositiveRate() {
+        // a negative lookup compares against every occupied slot in two buckets
+        double occupancy = (double) size / ((long) numBuckets * SLOTS_PER_BUCKET);
+        return 1 - Math.pow(1 - 1.0 / fingerprintMask, 2 * SLOTS_PER_BUCKET * Math.min(1, occupancy));
+    }
+
+    @Override
+    public void addAll(Collection<? extends E> collection) {
+        collection.forEach(this::add);
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(table, 0L);
+        victimFingerprint = 0;
+        size = 0;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean containsAll(Collection<? extends E> collection) {
+        return collection.stream().allMatch(this::contains);
+    }
+
+    @Override
+    public int getMemoryFootprintEstimate() {
+        // returns the memory footprint of the fingerprint table in bytes
+        return (int) Math.min(Integer.MAX_VALUE, (long) table.length * Long.BYTES);
+    }
+
+    // a cuckoo filter hashes each element once, then derives both buckets and the fingerprint from it
+    @Override
+    public int getHashFunctionCount() {
+        return 1;
+    }
+
+    public int getFingerprintBits() {
+        return fingerprintBits;
+    }
+}
@@ -0,0 +1,77 @@
+package implementations;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+// Bit array stored outside the Java heap in direct (or memory mapped) buffers. A single buffer is
+// limited to 2^31 bytes, so the bits are split across 1 GiB chunks and addressed with long indices.
+final class DirectBitArray {
+
+    static final int CHUNK_SHIFT = 30;
+    static final long CHUNK_BYTES = 1L << CHUNK_SHIFT;
+
+    private final ByteBuffer[] chunks;
+    private final long bitCount;
+
+    DirectBitArray(long bitCount) {
+        this(allocate(byteSize(bitCount)), bitCount);
+    }
+
+    DirectBitArray(ByteBuffer[] chunks, long bitCount) {
+        this.chunks = chunks;
+        this.bitCount = bitCount;
+    }
+
+    static long byteSize(long bitCount) {
+        return ((bitCount + Long.SIZE - 1) >>> 6) * Long.BYTES;
+    }
+
+    static int chunkCount(long byteSize) {
+        return (int) ((byteSize + CHUNK_BYTES - 1) >>> CHUNK_SHIFT);
+    }
+
+    private static ByteBuffer[] allocate(long byteSize) {
+        ByteBuffer[] chunks = new ByteBuffer[chunkCount(byteSize)];
+        for (int i = 0; i < chunks.length; i++) {
+            int length = (int) Math.min(CHUNK_BYTES, byteSize - ((long) i << CHUNK_SHIFT));
+            chunks[i] = ByteBuffer.allocateDirect(length).order(ByteOrder.LITTLE_ENDIAN);
+        }
+        return chunks;
+    }
+
+    boolean get(long bit) {
+        long offset = (bit >>> 6) << 3;
+        return (chunks[(int) (offset >>> CHUNK_SHIFT)].getLong((int) (offset & (CHUNK_BYTES - 1))) & (1L << bit)) != 0;
+    }
+
+    void set(long bit) {
+        long offset = (bit >>> 6) << 3;
+        ByteBuffer chunk = chunks[(int) (offset >>> CHUNK_SHIFT)];
+        int index = (int) (offset & (CHUNK_BYTES - 1));
+        chunk.putLong(index, chunk.getLong(index) | (1L << bit));
+    }
+
+    long cardinality() {
+        long count = 0;
+        for (ByteBuffer chunk : chunks) {
+            for (int i = 0; i < chunk.capacity(); i += Long.BYTES)
+                count += Long.bitCount(chunk.getLong(i));
+        }
+        return count;
+    }
+
+    void clear() {
+        for (ByteBuffer chunk : chunks) {
+            for (int i = 0; i < chunk.capacity(); i += Long.BYTES)
+                chunk.putLong(i, 0L);
+        }
+    }
+
+    long bitCount() {
+        return bitCount;
+    }
+
+    long byteSize() {
+        return byteSize(bitCount);
+    }
+}
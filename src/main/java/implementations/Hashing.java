@@ -0,0 +1,94 @@
+package implementations;
+
+// Shared hashing pipeline for the probabilistic structures. Elements are first reduced to a 64 bit key,
+// which is run through MurmurHash3 x64_128. The two 64 bit halves drive Kirsch-Mitzenmacher double
+// hashing (probe i = h1 + i * h2), so k probe positions cost one hash.
+final class Hashing {
+
+    static final long DEFAULT_SEED = 0x2545F4914F6CDD1DL;
+
+    private static final long C1 = 0x87c37b91114253d5L;
+    private static final long C2 = 0x4cf5ad432745937fL;
+
+    private Hashing() {
+    }
+
+    static long key(Object element) {
+        // integral numbers and strings are folded from their value instead of hashCode() so that
+        // distinct keys don't collide in 32 bits before they ever reach the mixer
+        if (element instanceof Long || element instanceof Integer || element instanceof Short || element instanceof Byte)
+            return ((Number) element).longValue();
+        if (element instanceof CharSequence) {
+            CharSequence sequence = (CharSequence) element;
+            long hash = 0xcbf29ce484222325L;
+            for (int i = 0; i < sequence.length(); i++)
+                hash = (hash ^ sequence.charAt(i)) * 0x100000001b3L;
+            return hash;
+        }
+        if (element instanceof Character)
+            return (Character) element;
+        return element.hashCode();
+    }
+
+    // Runs the MurmurHash3 body once and finalizes both lanes. The 128 bit hash is (low + high,
+    // low + 2 * high), where low and high are the finalized lanes.
+    static Hash128 hash128(long key, long seed) {
+        long body = body(key, seed);
+        long high = fmix64(body + (seed ^ Long.BYTES));
+        long h1 = fmix64(body) + high;
+        return new Hash128(h1, h1 + high);
+    }
+
+    // first 64 bits of the hash, for structures that only need one
+    static long hash1(long key, long seed) {
+        long body = body(key, seed);
+        return fmix64(body) + fmix64(body + (seed ^ Long.BYTES));
+    }
+
+    // the MurmurHash3 x64_128 body and length mixing for a single 8 byte block, before finalization
+    private static long body(long key, long seed) {
+        return (seed ^ mixKey(key) ^ Long.BYTES) + (seed ^ Long.BYTES);
+    }
+
+    // maps the i-th double hashing probe onto [0, bound)
+    static long probe(long h1, long h2, int i, long bound) {
+        return reduce(h1 + i * h2, bound);
+    }
+
+    static long reduce(long hash, long bound) {
+        return (hash & Long.MAX_VALUE) % bound;
+    }
+
+    // Both halves of a 128 bit hash. The holder never escapes the probing loop that uses it, so the JIT
+    // normally replaces it with two locals.
+    static final class Hash128 {
+
+        final long h1;
+        final long h2;
+
+        private Hash128(long h1, long h2) {
+            this.h1 = h1;
+            this.h2 = h2;
+        }
+
+        long probe(int i, long bound) {
+            return Hashing.probe(h1, h2, i, bound);
+        }
+    }
+
+    static long fmix64(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private static long mixKey(long key) {
+        key *= C1;
+        key = Long.rotateLeft(key, 31);
+        key *= C2;
+        return key;
+    }
+}
@@ -0,0 +1,94 @@
+package implementations;
+
+import api.FrequencySketch;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+
+// Tracks the k most frequent elements of a stream using a frequency sketch for the counts. Candidates
+// sit in a min heap ordered by the estimate recorded when they were pushed. Estimates only grow, so a
+// stale heap entry is simply re-pushed with its current estimate when it reaches the top.
+public class HeavyHitterTracker<E> {
+
+    private final FrequencySketch<E> sketch;
+    private final int k;
+    private final Map<E, Long> candidates;
+    private final PriorityQueue<Candidate<E>> heap;
+
+    public HeavyHitterTracker(int k, FrequencySketch<E> sketch) {
+        if (k <= 0)
+            throw new IllegalArgumentException("k must be positive");
+        this.k = k;
+        this.sketch = Objects.requireNonNull(sketch);
+        this.candidates = new HashMap<>();
+        this.heap = new PriorityQueue<>(Comparator.comparingLong(candidate -> candidate.count));
+    }
+
+    public void add(E element) {
+        add(element, 1);
+    }
+
+    public void add(E element, long count) {
+        sketch.add(element, count);
+        long estimate = sketch.estimateCount(element);
+        if (candidates.containsKey(element)) {
+            candidates.put(element, estimate);
+            return;
+        }
+        if (candidates.size() < k) {
+            candidates.put(element, estimate);
+            heap.offer(new Candidate<>(element, estimate));
+            return;
+        }
+        Candidate<E> minimum = currentMinimum();
+        if (estimate > minimum.count) {
+            heap.poll();
+            candidates.remove(minimum.element);
+            candidates.put(element, estimate);
+            heap.offer(new Candidate<>(element, estimate));
+        }
+    }
+
+    private Candidate<E> currentMinimum() {
+        while (true) {
+            Candidate<E> top = heap.peek();
+            long current = candidates.get(top.element);
+            if (top.count == current)
+                return top;
+            heap.poll();
+            heap.offer(new Candidate<>(top.element, current));
+        }
+    }
+
+    // returns the tracked elements ordered from the highest estimated count to the lowest
+    public List<E> topK() {
+        List<E> elements = new ArrayList<>(candidates.keySet());
+        elements.sort(Comparator.comparingLong((E element) -> candidates.get(element)).reversed());
+        return elements;
+    }
+
+    public long estimateCount(E element) {
+        return sketch.estimateCount(element);
+    }
+
+    public void clear() {
+        sketch.clear();
+        candidates.clear();
+        heap.clear();
+    }
+
+    private static class Candidate<E> {
+        E element;
+        long count;
+
+        public Candidate(E element, long count) {
+            this.element = element;
+            this.count = count;
+        }
+    }
+}
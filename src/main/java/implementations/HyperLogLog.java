@@ -0,0 +1,211 @@
+package implementations;
+
+import api.CardinalityEstimator;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+// HyperLogLog++ distinct count estimator (Heule, Nunkesser and Hall). Small sets are kept in a sparse
+// list of (index, rank) pairs at precision 25, which counts exactly enough for linear counting to be
+// nearly error free. Once the list would take more memory than the registers it is converted to 2^p dense
+// registers of one byte each, with a relative standard error of 1.04 / sqrt(2^p). Sketches with the
+// same precision merge by taking the register-wise maximum. The empirical bias correction tables of the
+// paper aren't included; dense sketches fall back to linear counting in the range where the raw
+// estimate is biased, as the original HyperLogLog does.
+public class HyperLogLog<E> implements CardinalityEstimator<E> {
+
+    public static final int DEFAULT_PRECISION = 14;
+    private static final int SPARSE_PRECISION = 25;
+    private static final int RANK_BITS = 6;
+    private static final int BUFFER_SIZE = 256;
+
+    private final int precision;
+    private final int registerCount;
+    private byte[] registers;
+    private int[] sparse;
+    private int sparseSize;
+    private final int[] buffer;
+    private int bufferSize;
+
+    public HyperLogLog() {
+        this(DEFAULT_PRECISION);
+    }
+
+    public HyperLogLog(int precision) {
+        if (precision < 4 || precision > 18)
+            throw new IllegalArgumentException("Precision must be between 4 and 18");
+        this.precision = precision;
+        this.registerCount = 1 << precision;
+        this.buffer = new int[BUFFER_SIZE];
+        this.sparse = new int[0];
+    }
+
+    @Override
+    public void add(E element) {
+        Objects.requireNonNull(element);
+        long hash = Hashing.hash1(Hashing.key(element), Hashing.DEFAULT_SEED);
+        if (registers != null) {
+            updateRegister((int) (hash >>> (Long.SIZE - precision)), rank(hash, precision));
+            return;
+        }
+        int index = (int) (hash >>> (Long.SIZE - SPARSE_PRECISION));
+        buffer[bufferSize++] = (index << RANK_BITS) | rank(hash, SPARSE_PRECISION);
+        if (bufferSize == BUFFER_SIZE)
+            mergeBuffer();
+    }
+
+    // position of the first set bit after the index bits, at most 64 - precision + 1
+    private static int rank(long hash, int precision) {
+        return Long.numberOfLeadingZeros((hash << precision) | (1L << (precision - 1))) + 1;
+    }
+
+    private void updateRegister(int index, int rank) {
+        if (registers[index] < rank)
+            registers[index] = (byte) rank;
+    }
+
+    // merges the buffered entries into the sorted sparse list, keeping the highest rank per index
+    private void mergeBuffer() {
+        if (bufferSize == 0)
+            return;
+        int[] merged = Arrays.copyOf(sparse, sparseSize + bufferSize);
+        System.arraycopy(buffer, 0, merged, sparseSize, bufferSize);
+        bufferSize = 0;
+        Arrays.sort(merged);
+        int count = 0;
+        for (int i = 0; i < merged.length; i++) {
+            // entries sort by index and then rank, so the last entry of each index has the highest rank
+            if (i + 1 < merged.length && (merged[i + 1] >>> RANK_BITS) == (merged[i] >>> RANK_BITS))
+                continue;
+            merged[count++] = merged[i];
+        }
+        sparse = merged;
+        sparseSize = count;
+        if ((long) sparseSize * Integer.BYTES > registerCount)
+            convertToDense();
+    }
+
+    private void convertToDense() {
+        registers = new byte[registerCount];
+        for (int i = 0; i < sparseSize; i++)
+            addSparseEntryToDense(sparse[i]);
+        sparse = null;
+        sparseSize = 0;
+    }
+
+    @Override
+    public long estimate() {
+        if (registers == null) {
+            mergeBuffer();
+            if (registers == null) {
+                double sparseRegisters = 1 << SPARSE_PRECISION;
+                return Math.round(sparseRegisters * Math.log(sparseRegisters / (sparseRegisters - sparseSize)));
+            }
+        }
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += Math.scalb(1.0, -register);
+            if (register == 0)
+                zeros++;
+        }
+        double rawEstimate = alpha() * registerCount * registerCount / sum;
+        // the raw estimate is strongly biased below 2.5 * 2^p, linear counting over the empty registers isn't
+        if (rawEstimate <= 2.5 * registerCount && zeros > 0)
+            return Math.round(registerCount * Math.log((double) registerCount / zeros));
+        return Math.round(rawEstimate);
+    }
+
+    private double alpha() {
+        switch (registerCount) {
+            case 16:
+                return 0.673;
+            case 32:
+                return 0.697;
+            case 64:
+                return 0.709;
+            default:
+                return 0.7213 / (1 + 1.079 / registerCount);
+        }
+    }
+
+    @Override
+    public void merge(CardinalityEstimator<E> other) {
+        Objects.requireNonNull(other);
+        if (!(other instanceof HyperLogLog))
+            throw new IllegalArgumentException("Only sketches of the same implementation can be merged");
+        HyperLogLog<E> sketch = (HyperLogLog<E>) other;
+        if (sketch.precision != precision)
+            throw new IllegalArgumentException("Only sketches with the same precision can be merged");
+        if (sketch.registers == null) {
+            sketch.mergeBuffer();
+        }
+        if (sketch.registers == null) {
+            // both sides replay the other side's sparse entries through the normal buffered path
+            for (int i = 0; i < sketch.sparseSize; i++) {
+                if (registers != null) {
+                    addSparseEntryToDense(sketch.sparse[i]);
+                } else {
+                    buffer[bufferSize++] = sketch.sparse[i];
+                    if (bufferSize == BUFFER_SIZE)
+                        mergeBuffer();
+                }
+            }
+            return;
+        }
+        if (registers == null) {
+            mergeBuffer();
+            if (registers == null)
+                convertToDense();
+        }
+        for (int i = 0; i < registerCount; i++)
+            updateRegister(i, sketch.registers[i]);
+    }
+
+    private void addSparseEntryToDense(int entry) {
+        int extraBits = SPARSE_PRECISION - precision;
+        int index = entry >>> RANK_BITS;
+        int rank = entry & ((1 << RANK_BITS) - 1);
+        int extra = index & ((1 << extraBits) - 1);
+        // the bits between the two precisions are the start of the dense rank
+        int denseRank = (extra != 0) ? Integer.numberOfLeadingZeros(extra) - (Integer.SIZE - extraBits) + 1 : extraBits + rank;
+        updateRegister(index >>> extraBits, denseRank);
+    }
+
+    @Override
+    public void clear() {
+        registers = null;
+        sparse = new int[0];
+        sparseSize = 0;
+        bufferSize = 0;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        if (registers == null)
+            return sparseSize == 0 && bufferSize == 0;
+        for (byte register : registers) {
+            if (register != 0)
+                return false;
+        }
+        return true;
+    }
+
+    @Override
+    public int getMemoryFootprintEstimate() {
+        // returns the memory footprint of the registers or the sparse list in bytes
+        return (registers != null) ? registers.length : (sparse.length + buffer.length) * Integer.BYTES;
+    }
+
+    public int getPrecision() {
+        return precision;
+    }
+
+    public boolean isSparse() {
+        return registers == null;
+    }
+
+    public double relativeStandardError() {
+        return 1.04 / Math.sqrt(registerCount);
+    }
+}
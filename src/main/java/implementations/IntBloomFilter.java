@@ -0,0 +1,113 @@
+package implementations;
+
+import api.BloomFilter;
+
+import java.util.Collection;
+import java.util.Objects;
+
+// Bloom filter specialised for int keys, each key is widened and stored in a LongBloomFilter.
+public class IntBloomFilter implements BloomFilter<Integer> {
+
+    private final LongBloomFilter filter;
+
+    public IntBloomFilter() {
+        this(100_000L, 1e-7);
+    }
+
+    public IntBloomFilter(long expectedElementCount) {
+        this(expectedElementCount, 1e-7);
+    }
+
+    public IntBloomFilter(long expectedElementCount, double desiredFalsePositiveRate) {
+        filter = new LongBloomFilter(expectedElementCount, desiredFalsePositiveRate);
+    }
+
+    public void add(int key) {
+        filter.add(key);
+    }
+
+    public boolean contains(int key) {
+        return filter.contains(key);
+    }
+
+    public void addAll(int[] keys) {
+        Objects.requireNonNull(keys);
+        for (int key : keys)
+            filter.add(key);
+    }
+
+    // stores the result for keys[i] in out[i] and returns true if every key was found, see LongBloomFilter
+    public boolean containsAll(int[] keys, boolean[] out) {
+        Objects.requireNonNull(keys);
+        if (out.length < keys.length)
+            throw new IllegalArgumentException("The output array is shorter than the key array");
+        long[] batch = new long[LongBloomFilter.BATCH_SIZE];
+        long[] h1 = new long[LongBloomFilter.BATCH_SIZE];
+        long[] h2 = new long[LongBloomFilter.BATCH_SIZE];
+        boolean allFound = true;
+        for (int start = 0; start < keys.length; start += batch.length) {
+            int count = Math.min(batch.length, keys.length - start);
+            for (int j = 0; j < count; j++)
+                batch[j] = keys[start + j];
+            allFound &= filter.containsBatch(batch, 0, count, out, start, h1, h2);
+        }
+        return allFound;
+    }
+
+    @Override
+    public void add(Integer element) {
+        Objects.requireNonNull(element);
+        filter.add(element.intValue());
+    }
+
+    @Override
+    public boolean contains(Integer element) {
+        Objects.requireNonNull(element);
+        return filter.contains(element.intValue());
+    }
+
+    @Override
+    public int size() {
+        return filter.size();
+    }
+
+    @Override
+    public double expectedFalsePositiveRate() {
+        return filter.expectedFalsePositiveRate();
+    }
+
+    @Override
+    public void addAll(Collection<? extends Integer> collection) {
+        for (Integer element : collection)
+            add(element);
+    }
+
+    @Override
+    public void clear() {
+        filter.clear();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return filter.isEmpty();
+    }
+
+    @Override
+    public boolean containsAll(Collection<? extends Integer> collection) {
+        for (Integer element : collection) {
+            if (!contains(element))
+                return false;
+        }
+        return true;
+    }
+
+    @Override
+    public int getMemoryFootprintEstimate() {
+        return filter.getMemoryFootprintEstimate();
+    }
+
+    @Override
+    public int getHashFunctionCount() {
+        return filter.getHashFunctionCount();
+    }
+}
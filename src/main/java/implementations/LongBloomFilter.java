@@ -0,0 +1,158 @@
+package implementations;
+
+import api.BloomFilter;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Objects;
+
+// Bloom filter specialised for long keys. The primitive methods never box and hash the key directly,
+// and they set the same bits a BloomFilterImpl<Long> of the same geometry would.
+public class LongBloomFilter implements BloomFilter<Long> {
+
+    static final int BATCH_SIZE = 16;
+
+    private final long[] words;
+    private final long numBits;
+    private final int numHashes;
+    private int size;
+
+    public LongBloomFilter() {
+        this(100_000L, 1e-7);
+    }
+
+    public LongBloomFilter(long expectedElementCount) {
+        this(expectedElementCount, 1e-7);
+    }
+
+    public LongBloomFilter(long expectedElementCount, double desiredFalsePositiveRate) {
+        numBits = BloomFilterMath.optimalBitCount(expectedElementCount, desiredFalsePositiveRate);
+        long wordCount = (numBits + Long.SIZE - 1) >>> 6;
+        if (wordCount > Integer.MAX_VALUE - 8)
+            throw new IllegalArgumentException("Filter would exceed the maximum array size");
+        words = new long[(int) wordCount];
+        numHashes = BloomFilterMath.optimalHashCount(numBits, expectedElementCount);
+    }
+
+    public void add(long key) {
+        Hashing.Hash128 hash = Hashing.hash128(key, Hashing.DEFAULT_SEED);
+        for (int i = 0; i < numHashes; i++) {
+            long bit = hash.probe(i, numBits);
+            words[(int) (bit >>> 6)] |= 1L << bit;
+        }
+        size++;
+    }
+
+    public boolean contains(long key) {
+        Hashing.Hash128 hash = Hashing.hash128(key, Hashing.DEFAULT_SEED);
+        for (int i = 0; i < numHashes; i++) {
+            long bit = hash.probe(i, numBits);
+            if ((words[(int) (bit >>> 6)] & (1L << bit)) == 0)
+                return false;
+        }
+        return true;
+    }
+
+    public void addAll(long[] keys) {
+        Objects.requireNonNull(keys);
+        for (long key : keys)
+            add(key);
+    }
+
+    // Stores the result for keys[i] in out[i] and returns true if every key was found. Keys are checked in
+    // batches: all hashes of a batch are computed first, then each probe round tests every key of the batch
+    // that is still alive. The loads of one round are independent of each other, so their cache misses
+    // overlap instead of being paid one key at a time.
+    public boolean containsAll(long[] keys, boolean[] out) {
+        Objects.requireNonNull(keys);
+        if (out.length < keys.length)
+            throw new IllegalArgumentException("The output array is shorter than the key array");
+        long[] h1 = new long[BATCH_SIZE];
+        long[] h2 = new long[BATCH_SIZE];
+        boolean allFound = true;
+        for (int start = 0; start < keys.length; start += BATCH_SIZE)
+            allFound &= containsBatch(keys, start, Math.min(BATCH_SIZE, keys.length - start), out, start, h1, h2);
+        return allFound;
+    }
+
+    boolean containsBatch(long[] keys, int keyOffset, int count, boolean[] out, int outOffset, long[] h1, long[] h2) {
+        for (int j = 0; j < count; j++) {
+            Hashing.Hash128 hash = Hashing.hash128(keys[keyOffset + j], Hashing.DEFAULT_SEED);
+            h1[j] = hash.h1;
+            h2[j] = hash.h2;
+            out[outOffset + j] = true;
+        }
+        int found = count;
+        for (int i = 0; i < numHashes && found > 0; i++) {
+            for (int j = 0; j < count; j++) {
+                if (out[outOffset + j]) {
+                    long bit = Hashing.probe(h1[j], h2[j], i, numBits);
+                    if ((words[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                        out[outOffset + j] = false;
+                        found--;
+                    }
+                }
+            }
+        }
+        return found == count;
+    }
+
+    @Override
+    public void add(Long element) {
+        Objects.requireNonNull(element);
+        add(element.longValue());
+    }
+
+    @Override
+    public boolean contains(Long element) {
+        Objects.requireNonNull(element);
+        return contains(element.longValue());
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public double expectedFalsePositiveRate() {
+        return BloomFilterMath.falsePositiveRate(numBits, numHashes, size);
+    }
+
+    @Override
+    public void addAll(Collection<? extends Long> collection) {
+        for (Long element : collection)
+            add(element);
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(words, 0L);
+        size = 0;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean containsAll(Collection<? extends Long> collection) {
+        for (Long element : collection) {
+            if (!contains(element))
+                return false;
+        }
+        return true;
+    }
+
+    @Override
+    public int getMemoryFootprintEstimate() {
+        // returns the memory footprint of the filter in bytes
+        return (int) Math.min(Integer.MAX_VALUE, (long) words.length * Long.BYTES);
+    }
+
+    @Override
+    public int getHashFunctionCount() {
+        return numHashes;
+    }
+}
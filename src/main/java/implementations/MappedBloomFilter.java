@@ -0,0 +1,229 @@
+package implementations;
+
+import api.BloomFilter;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.Objects;
+
+// Bloom filter that lives in a memory mapped file and is queried in place, so a filter built once can
+// be reopened without re-adding its elements. Layout (little endian):
+//
+//   offset  0  int   magic "BLMF"
+//   offset  4  int   format version
+//   offset  8  int   hash function count
+//   offset 12  int   hash scheme
+//   offset 16  long  bit count
+//   offset 24  long  hash seed
+//   offset 32  long  element count
+//   offset 64        bit words, 8 bytes each
+//
+// The probe positions in the file come from Hashing.key, so they only mean the same thing in the next
+// JVM if the element's key is derived from its value. Integral numbers, characters and strings are
+// folded from their value; any other type falls back to hashCode(), which survives a reopen only if
+// the class defines it by value. Identity hashed objects and enum constants would silently miss after
+// a reopen, so enums are rejected outright. The hash scheme field records how keys and probes were
+// derived, and a file written with a different scheme is refused.
+public class MappedBloomFilter<E> implements BloomFilter<E>, Closeable {
+
+    public static final int MAGIC = 0x464D4C42;
+    public static final int VERSION = 1;
+    // Hashing.key folded through MurmurHash3 x64_128 with Kirsch-Mitzenmacher double hashing
+    public static final int HASH_SCHEME = 1;
+    static final int HEADER_BYTES = 64;
+
+    private static final int HASH_COUNT_OFFSET = 8;
+    private static final int HASH_SCHEME_OFFSET = 12;
+    private static final int BIT_COUNT_OFFSET = 16;
+    private static final int SEED_OFFSET = 24;
+    private static final int ELEMENT_COUNT_OFFSET = 32;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer header;
+    private final MappedByteBuffer[] chunks;
+    private final DirectBitArray bits;
+    private final boolean readOnly;
+    private final long numBits;
+    private final int numHashes;
+    private final long seed;
+    private long size;
+
+    private MappedBloomFilter(FileChannel channel, boolean readOnly) throws IOException {
+        this.channel = channel;
+        this.readOnly = readOnly;
+        FileChannel.MapMode mode = readOnly ? FileChannel.MapMode.READ_ONLY : FileChannel.MapMode.READ_WRITE;
+        if (channel.size() < HEADER_BYTES)
+            throw new IOException("File is too small to contain a bloom filter header");
+        header = channel.map(mode, 0, HEADER_BYTES);
+        header.order(ByteOrder.LITTLE_ENDIAN);
+        if (header.getInt(0) != MAGIC)
+            throw new IOException("File is not a bloom filter");
+        if (header.getInt(4) != VERSION)
+            throw new IOException("Unsupported bloom filter format version " + header.getInt(4));
+        if (header.getInt(HASH_SCHEME_OFFSET) != HASH_SCHEME)
+            throw new IOException("Unsupported bloom filter hash scheme " + header.getInt(HASH_SCHEME_OFFSET));
+        numHashes = header.getInt(HASH_COUNT_OFFSET);
+        numBits = header.getLong(BIT_COUNT_OFFSET);
+        seed = header.getLong(SEED_OFFSET);
+        size = header.getLong(ELEMENT_COUNT_OFFSET);
+        long byteSize = DirectBitArray.byteSize(numBits);
+        if (numHashes <= 0 || numBits <= 0 || channel.size() < HEADER_BYTES + byteSize)
+            throw new IOException("Bloom filter header is corrupt or the file is truncated");
+        chunks = new MappedByteBuffer[DirectBitArray.chunkCount(byteSize)];
+        for (int i = 0; i < chunks.length; i++) {
+            long position = (long) i << DirectBitArray.CHUNK_SHIFT;
+            chunks[i] = channel.map(mode, HEADER_BYTES + position, Math.min(DirectBitArray.CHUNK_BYTES, byteSize - position));
+            chunks[i].order(ByteOrder.LITTLE_ENDIAN);
+        }
+        bits = new DirectBitArray(chunks, numBits);
+    }
+
+    // Only elements whose key is derived from their value, see the class comment, are found again after
+    // the file is reopened.
+    public static <E> MappedBloomFilter<E> create(Path file, long expectedElementCount, double desiredFalsePositiveRate) throws IOException {
+        long numBits = BloomFilterMath.optimalBitCount(expectedElementCount, desiredFalsePositiveRate);
+        int numHashes = BloomFilterMath.optimalHashCount(numBits, expectedElementCount);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(0, MAGIC)
+                    .putInt(4, VERSION)
+                    .putInt(HASH_COUNT_OFFSET, numHashes)
+                    .putInt(HASH_SCHEME_OFFSET, HASH_SCHEME)
+                    .putLong(BIT_COUNT_OFFSET, numBits)
+                    .putLong(SEED_OFFSET, Hashing.DEFAULT_SEED)
+                    .putLong(ELEMENT_COUNT_OFFSET, 0L);
+            channel.write(header, 0);
+            // extend the file to its full length, the gap reads back as zero bits
+            channel.write(ByteBuffer.allocate(1), HEADER_BYTES + DirectBitArray.byteSize(numBits) - 1);
+        }
+        return open(file);
+    }
+
+    // Elements are only found if they hash by value, as they must have when the file was written.
+    public static <E> MappedBloomFilter<E> open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            return new MappedBloomFilter<>(channel, false);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public static <E> MappedBloomFilter<E> openReadOnly(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            return new MappedBloomFilter<>(channel, true);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public void add(E element) {
+        Objects.requireNonNull(element);
+        if (readOnly)
+            throw new UnsupportedOperationException("The filter was opened read only");
+        Hashing.Hash128 hash = Hashing.hash128(keyOf(element), seed);
+        for (int i = 0; i < numHashes; i++)
+            bits.set(hash.probe(i, numBits));
+        size++;
+    }
+
+    @Override
+    public boolean contains(E element) {
+        Objects.requireNonNull(element);
+        Hashing.Hash128 hash = Hashing.hash128(keyOf(element), seed);
+        for (int i = 0; i < numHashes; i++) {
+            if (!bits.get(hash.probe(i, numBits)))
+                return false;
+        }
+        return true;
+    }
+
+    private static long keyOf(Object element) {
+        if (element instanceof Enum)
+            throw new IllegalArgumentException("Enum constants hash by identity and can't be stored in a mapped filter");
+        return Hashing.key(element);
+    }
+
+    // Writes the element count to the header and forces every modified page out to the file.
+    public void flush() {
+        if (readOnly)
+            return;
+        header.putLong(ELEMENT_COUNT_OFFSET, size);
+        header.force();
+        for (MappedByteBuffer chunk : chunks)
+            chunk.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        channel.close();
+    }
+
+    @Override
+    public int size() {
+        return (int) Math.min(Integer.MAX_VALUE, size);
+    }
+
+    public long getElementCount() {
+        return size;
+    }
+
+    @Override
+    public double expectedFalsePositiveRate() {
+        return BloomFilterMath.falsePositiveRate(numBits, numHashes, size);
+    }
+
+    @Override
+    public void addAll(Collection<? extends E> collection) {
+        collection.forEach(this::add);
+    }
+
+    @Override
+    public void clear() {
+        if (readOnly)
+            throw new UnsupportedOperationException("The filter was opened read only");
+        bits.clear();
+        size = 0;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean containsAll(Collection<? extends E> collection) {
+        return collection.stream().allMatch(this::contains);
+    }
+
+    @Override
+    public int getMemoryFootprintEstimate() {
+        // returns the size of the mapped bit array in bytes, capped at Integer.MAX_VALUE
+        return (int) Math.min(Integer.MAX_VALUE, bits.byteSize());
+    }
+
+    @Override
+    public int getHashFunctionCount() {
+        return numHashes;
+    }
+
+    public long getBitCount() {
+        return numBits;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+}
@@ -0,0 +1,107 @@
+package implementations;
+
+import api.BloomFilter;
+
+import java.util.Collection;
+import java.util.Objects;
+
+public class OffHeapBloomFilter<E> implements BloomFilter<E> {
+
+    private final DirectBitArray bits;
+    private final long numBits;
+    private final int numHashes;
+    private long size;
+
+    public OffHeapBloomFilter(long expectedElementCount, double desiredFalsePositiveRate) {
+        this(expectedElementCount, desiredFalsePositiveRate, Long.MAX_VALUE);
+    }
+
+    // The filter never uses more than byteBudget bytes. When the budget is too small for the desired
+    // rate the filter is sized to the budget and expectedFalsePositiveRate() reports the weaker rate.
+    public OffHeapBloomFilter(long expectedElementCount, double desiredFalsePositiveRate, long byteBudget) {
+        if (byteBudget < Long.BYTES)
+            throw new IllegalArgumentException("Byte budget must be at least " + Long.BYTES + " bytes");
+        long optimalBits = BloomFilterMath.optimalBitCount(expectedElementCount, desiredFalsePositiveRate);
+        long budgetWords = byteBudget / Long.BYTES;
+        long budgetBits = (budgetWords > Long.MAX_VALUE / Long.SIZE) ? Long.MAX_VALUE : budgetWords * Long.SIZE;
+        numBits = Math.min(optimalBits, budgetBits);
+        numHashes = BloomFilterMath.optimalHashCount(numBits, expectedElementCount);
+        bits = new DirectBitArray(numBits);
+    }
+
+    @Override
+    public void add(E element) {
+        Objects.requireNonNull(element);
+        long key = Hashing.key(element);
+        Hashing.Hash128 hash = Hashing.hash128(key, Hashing.DEFAULT_SEED);
+        for (int i = 0; i < numHashes; i++)
+            bits.set(hash.probe(i, numBits));
+        size++;
+    }
+
+    @Override
+    public boolean contains(E element) {
+        Objects.requireNonNull(element);
+        long key = Hashing.key(element);
+        Hashing.Hash128 hash = Hashing.hash128(key, Hashing.DEFAULT_SEED);
+        for (int i = 0; i < numHashes; i++) {
+            if (!bits.get(hash.probe(i, numBits)))
+                return false;
+        }
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return (int) Math.min(Integer.MAX_VALUE, size);
+    }
+
+    public long getElementCount() {
+        return size;
+    }
+
+    @Override
+    public double expectedFalsePositiveRate() {
+        return BloomFilterMath.falsePositiveRate(numBits, numHashes, size);
+    }
+
+    @Override
+    public void addAll(Collection<? extends E> collection) {
+        collection.forEach(this::add);
+    }
+
+    @Override
+    public void clear() {
+        bits.clear();
+        size = 0;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean containsAll(Collection<? extends E> collection) {
+        return collection.stream().allMatch(this::contains);
+    }
+
+    @Override
+    public int getMemoryFootprintEstimate() {
+        // returns the memory footprint of the filter in bytes, capped at Integer.MAX_VALUE
+        return (int) Math.min(Integer.MAX_VALUE, bits.byteSize());
+    }
+
+    public long getMemoryFootprint() {
+        return bits.byteSize();
+    }
+
+    public long getBitCount() {
+        return numBits;
+    }
+
+    @Override
+    public int getHashFunctionCount() {
+        return numHashes;
+    }
+}
@@ -0,0 +1,305 @@
+package implementations;
+
+import api.BloomFilter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+// Bloom filter where the i-th hash function only sets bits in the i-th of k equally sized slices, so
+// probes never collide across hash functions. Each slice is its own atomic bit array that can be written
+// by many threads without locks and saved and loaded on its own with writeSlice and readSlice.
+//
+// Slices can also live apart from the filter. newSlice creates just the i-th slice of a filter sized for
+// the given element count and rate, so a node or shard can own one slice: it adds elements and answers
+// membership for its own hash function, and an element is in the whole filter only if every slice
+// contains it. Slices owned elsewhere can be assembled back into a filter with the slice list
+// constructor, and getSlice exposes the slices of an existing filter.
+public class PartitionedBloomFilter<E> implements BloomFilter<E> {
+
+    private static final int SLICE_MAGIC = 0x53464250;
+    private static final int SLICE_HEADER_BYTES = 32;
+    private static final int COPY_BUFFER_WORDS = 8192;
+
+    private final List<Slice<E>> slices;
+    private final AtomicBitArray[] sliceBitArrays;
+    private final long sliceBits;
+    private final LongAdder size;
+
+    public PartitionedBloomFilter() {
+        this(100_000L, 1e-7);
+    }
+
+    public PartitionedBloomFilter(long expectedElementCount) {
+        this(expectedElementCount, 1e-7);
+    }
+
+    public PartitionedBloomFilter(long expectedElementCount, double desiredFalsePositiveRate) {
+        this(newSlices(expectedElementCount, desiredFalsePositiveRate));
+    }
+
+    // Assembles a filter from a full set of slices, given in index order, that were created by newSlice
+    // or taken from another filter with the same geometry. The filter shares the slices rather than
+    // copying them.
+    public PartitionedBloomFilter(List<Slice<E>> slices) {
+        Objects.requireNonNull(slices);
+        if (slices.isEmpty())
+            throw new IllegalArgumentException("A filter needs at least one slice");
+        this.slices = List.copyOf(slices);
+        this.sliceBits = this.slices.get(0).bitCount;
+        this.sliceBitArrays = new AtomicBitArray[this.slices.size()];
+        for (int i = 0; i < this.slices.size(); i++) {
+            Slice<E> slice = this.slices.get(i);
+            if (slice.index != i || slice.sliceCount != this.slices.size() || slice.bitCount != sliceBits)
+                throw new IllegalArgumentException("Slice " + slice.index + " of " + slice.sliceCount
+                        + " doesn't fit at position " + i + " of " + this.slices.size() + " slices");
+            sliceBitArrays[i] = slice.bits;
+        }
+        this.size = new LongAdder();
+    }
+
+    // Creates only the given slice of a filter sized for the element count and false positive rate.
+    public static <E> Slice<E> newSlice(long expectedElementCount, double desiredFalsePositiveRate, int index) {
+        long totalBits = BloomFilterMath.optimalBitCount(expectedElementCount, desiredFalsePositiveRate);
+        int numHashes = BloomFilterMath.optimalHashCount(totalBits, expectedElementCount);
+        return new Slice<>(Objects.checkIndex(index, numHashes), numHashes, (totalBits + numHashes - 1) / numHashes);
+    }
+
+    private static <E> List<Slice<E>> newSlices(long expectedElementCount, double desiredFalsePositiveRate) {
+        Slice<E> first = newSlice(expectedElementCount, desiredFalsePositiveRate, 0);
+        List<Slice<E>> slices = new ArrayList<>(first.sliceCount);
+        slices.add(first);
+        for (int i = 1; i < first.sliceCount; i++)
+            slices.add(new Slice<>(i, first.sliceCount, first.bitCount));
+        return slices;
+    }
+
+    @Override
+    public void add(E element) {
+        Objects.requireNonNull(element);
+        long key = Hashing.key(element);
+        Hashing.Hash128 hash = Hashing.hash128(key, Hashing.DEFAULT_SEED);
+        for (int i = 0; i < sliceBitArrays.length; i++)
+            sliceBitArrays[i].set(hash.probe(i, sliceBits));
+        size.increment();
+    }
+
+    @Override
+    public boolean contains(E element) {
+        Objects.requireNonNull(element);
+        long key = Hashing.key(element);
+        Hashing.Hash128 hash = Hashing.hash128(key, Hashing.DEFAULT_SEED);
+        for (int i = 0; i < sliceBitArrays.length; i++) {
+            if (!sliceBitArrays[i].get(hash.probe(i, sliceBits)))
+                return false;
+        }
+        return true;
+    }
+
+    // Writes a slice with the filter's element count, see Slice.writeTo for the format.
+    public void writeSlice(int slice, WritableByteChannel channel) throws IOException {
+        getSlice(slice).writeTo(channel, elementCount());
+    }
+
+    public void readSlice(int slice, ReadableByteChannel channel) throws IOException {
+        getSlice(slice).readFrom(channel);
+    }
+
+    public Slice<E> getSlice(int slice) {
+        return slices.get(Objects.checkIndex(slice, slices.size()));
+    }
+
+    @Override
+    public int size() {
+        return (int) Math.min(Integer.MAX_VALUE, elementCount());
+    }
+
+    // Adds through the filter are counted once on the filter. Slices only count adds made through the
+    // slice itself and counts loaded with it, so a slice filled or loaded on its own can raise the total.
+    private long elementCount() {
+        long count = size.sum();
+        for (Slice<E> slice : slices)
+            count = Math.max(count, slice.size.sum());
+        return count;
+    }
+
+    @Override
+    public double expectedFalsePositiveRate() {
+        // each slice receives exactly one bit per element
+        return Math.pow(1 - Math.exp(-(elementCount() + 0.5) / sliceBits), slices.size());
+    }
+
+    @Override
+    public void addAll(Collection<? extends E> collection) {
+        collection.forEach(this::add);
+    }
+
+    @Override
+    public void clear() {
+        for (Slice<E> slice : slices)
+            slice.clear();
+        size.reset();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return elementCount() == 0;
+    }
+
+    @Override
+    public boolean containsAll(Collection<? extends E> collection) {
+        return collection.stream().allMatch(this::contains);
+    }
+
+    @Override
+    public int getMemoryFootprintEstimate() {
+        // returns the memory footprint of all slices in bytes
+        return (int) Math.min(Integer.MAX_VALUE, sliceBitArrays[0].byteSize() * sliceBitArrays.length);
+    }
+
+    @Override
+    public int getHashFunctionCount() {
+        return slices.size();
+    }
+
+    public int getSliceCount() {
+        return slices.size();
+    }
+
+    public long getSliceBits() {
+        return sliceBits;
+    }
+
+    // One slice of a partitioned filter: the bits of a single hash function. A slice can be used on its
+    // own, and a slice taken from a filter stays shared with it. Its element count only covers adds made
+    // through the slice and counts read with readFrom, adds through the filter are counted by the filter.
+    public static final class Slice<E> {
+
+        private final int index;
+        private final int sliceCount;
+        private final long bitCount;
+        private final AtomicBitArray bits;
+        private final LongAdder size;
+
+        private Slice(int index, int sliceCount, long bitCount) {
+            this.index = index;
+            this.sliceCount = sliceCount;
+            this.bitCount = bitCount;
+            this.bits = new AtomicBitArray(bitCount);
+            this.size = new LongAdder();
+        }
+
+        // the bit this slice's hash function assigns to the element
+        public long bitIndex(E element) {
+            Objects.requireNonNull(element);
+            long key = Hashing.key(element);
+            return Hashing.hash128(key, Hashing.DEFAULT_SEED).probe(index, bitCount);
+        }
+
+        public void add(E element) {
+            bits.set(bitIndex(element));
+            size.increment();
+        }
+
+        // false means the element is in no filter this slice belongs to
+        public boolean contains(E element) {
+            return bits.get(bitIndex(element));
+        }
+
+        public void clear() {
+            bits.clear();
+            size.reset();
+        }
+
+        public long size() {
+            return size.sum();
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public int getSliceCount() {
+            return sliceCount;
+        }
+
+        public long getBitCount() {
+            return bitCount;
+        }
+
+        // Slice format: magic, slice index, slice count, reserved, slice bit count, element count, then the
+        // slice's words, all little endian.
+        public void writeTo(WritableByteChannel channel) throws IOException {
+            writeTo(channel, size.sum());
+        }
+
+        private void writeTo(WritableByteChannel channel, long elementCount) throws IOException {
+            Objects.requireNonNull(channel);
+            ByteBuffer header = ByteBuffer.allocate(SLICE_HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(SLICE_MAGIC).putInt(index).putInt(sliceCount).putInt(0).putLong(bitCount).putLong(elementCount).flip();
+            writeFully(channel, header);
+            ByteBuffer buffer = ByteBuffer.allocate(COPY_BUFFER_WORDS * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            for (int word = 0; word < bits.wordCount(); word++) {
+                buffer.putLong(bits.getWord(word));
+                if (!buffer.hasRemaining()) {
+                    buffer.flip();
+                    writeFully(channel, buffer);
+                    buffer.clear();
+                }
+            }
+            buffer.flip();
+            writeFully(channel, buffer);
+        }
+
+        // Replaces the bits of this slice with ones previously written by writeTo from a slice at the same
+        // position of a filter with the same geometry. The element count is raised to the saved count if
+        // that is larger.
+        public void readFrom(ReadableByteChannel channel) throws IOException {
+            Objects.requireNonNull(channel);
+            ByteBuffer header = ByteBuffer.allocate(SLICE_HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            readFully(channel, header);
+            header.flip();
+            if (header.getInt() != SLICE_MAGIC)
+                throw new IOException("Data is not a bloom filter slice");
+            int savedIndex = header.getInt();
+            int savedSliceCount = header.getInt();
+            header.getInt();
+            long savedBitCount = header.getLong();
+            long savedSize = header.getLong();
+            if (savedIndex != index || savedSliceCount != sliceCount || savedBitCount != bitCount)
+                throw new IOException("Slice " + savedIndex + " of " + savedSliceCount + " doesn't match this filter's geometry");
+            ByteBuffer buffer = ByteBuffer.allocate(COPY_BUFFER_WORDS * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            int word = 0;
+            while (word < bits.wordCount()) {
+                buffer.clear();
+                buffer.limit(Math.min(COPY_BUFFER_WORDS, bits.wordCount() - word) * Long.BYTES);
+                readFully(channel, buffer);
+                buffer.flip();
+                while (buffer.hasRemaining())
+                    bits.setWord(word++, buffer.getLong());
+            }
+            long missing = savedSize - size.sum();
+            if (missing > 0)
+                size.add(missing);
+        }
+    }
+
+    private static void writeFully(WritableByteChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining())
+            channel.write(buffer);
+    }
+
+    private static void readFully(ReadableByteChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0)
+                throw new IOException("Unexpected end of slice data");
+        }
+    }
+}
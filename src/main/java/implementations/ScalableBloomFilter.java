@@ -0,0 +1,170 @@
+package implementations;
+
+import api.BloomFilter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+// Scalable bloom filter (Almeida et al.). Elements go into the newest stage; once it holds its capacity
+// a new stage is chained on with growthFactor times the capacity and tighteningRatio times the false
+// positive rate. Stage rates form a geometric series starting at p * (1 - r), so the compound false
+// positive rate stays at p, up to the rounding of each stage's hash function count, however many
+// elements are inserted. Stages are long addressed and sized exactly from their capacity and rate, so
+// late stages never trade accuracy for memory.
+public class ScalableBloomFilter<E> implements BloomFilter<E> {
+
+    private final List<Stage<E>> stages;
+    private final long initialCapacity;
+    private final double falsePositiveRate;
+    private final double growthFactor;
+    private final double tighteningRatio;
+    private long stageCapacity;
+    private double stageFalsePositiveRate;
+    private long stageElementCount;
+    private int size;
+
+    public ScalableBloomFilter() {
+        this(100_000L, 1e-7);
+    }
+
+    public ScalableBloomFilter(long initialCapacity, double desiredFalsePositiveRate) {
+        this(initialCapacity, desiredFalsePositiveRate, 2, 0.5);
+    }
+
+    public ScalableBloomFilter(long initialCapacity, double desiredFalsePositiveRate, double growthFactor, double tighteningRatio) {
+        BloomFilterMath.checkArguments(initialCapacity, desiredFalsePositiveRate);
+        if (growthFactor < 1)
+            throw new IllegalArgumentException("Growth factor must be at least 1");
+        if (tighteningRatio <= 0 || tighteningRatio >= 1)
+            throw new IllegalArgumentException("Tightening ratio must be between 0 and 1");
+        this.initialCapacity = initialCapacity;
+        this.falsePositiveRate = desiredFalsePositiveRate;
+        this.growthFactor = growthFactor;
+        this.tighteningRatio = tighteningRatio;
+        this.stages = new ArrayList<>();
+        clear();
+    }
+
+    @Override
+    public void add(E element) {
+        Objects.requireNonNull(element);
+        size++;
+        // elements that already test positive don't use up the capacity of the current stage
+        if (contains(element))
+            return;
+        if (stageElementCount >= stageCapacity)
+            addStage();
+        stages.get(stages.size() - 1).filter.add(element);
+        stageElementCount++;
+    }
+
+    private void addStage() {
+        if (!stages.isEmpty()) {
+            stageCapacity = (long) Math.ceil(stageCapacity * growthFactor);
+            stageFalsePositiveRate *= tighteningRatio;
+        }
+        if (!(stageFalsePositiveRate > 0) || stageCapacity <= 0)
+            throw new IllegalStateException("Stage " + stages.size() + " can't be sized, its false positive rate underflowed to "
+                    + stageFalsePositiveRate + " at capacity " + stageCapacity);
+        stages.add(new Stage<>(stageCapacity, stageFalsePositiveRate));
+        stageElementCount = 0;
+    }
+
+    private static class Stage<E> {
+        private final OffHeapBloomFilter<E> filter;
+        private final long capacity;
+        private final double falsePositiveRate;
+
+        public Stage(long capacity, double falsePositiveRate) {
+            this.filter = new OffHeapBloomFilter<>(capacity, falsePositiveRate);
+            this.capacity = capacity;
+            this.falsePositiveRate = falsePositiveRate;
+        }
+    }
+
+    @Override
+    public boolean contains(E element) {
+        Objects.requireNonNull(element);
+        // newest stages are the largest, so they are the most likely to hold the element
+        for (int i = stages.size() - 1; i >= 0; i--) {
+            if (stages.get(i).filter.contains(element))
+                return true;
+        }
+        return false;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public double expectedFalsePositiveRate() {
+        double trueNegativeRate = 1;
+        for (Stage<E> stage : stages) {
+            if (!stage.filter.isEmpty())
+                trueNegativeRate *= 1 - stage.filter.expectedFalsePositiveRate();
+        }
+        return 1 - trueNegativeRate;
+    }
+
+    @Override
+    public void addAll(Collection<? extends E> collection) {
+        collection.forEach(this::add);
+    }
+
+    @Override
+    public void clear() {
+        stages.clear();
+        stageCapacity = initialCapacity;
+        stageFalsePositiveRate = falsePositiveRate * (1 - tighteningRatio);
+        addStage();
+        size = 0;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean containsAll(Collection<? extends E> collection) {
+        return collection.stream().allMatch(this::contains);
+    }
+
+    @Override
+    public int getMemoryFootprintEstimate() {
+        long bytes = 0;
+        for (Stage<E> stage : stages)
+            bytes += stage.filter.getMemoryFootprint();
+        return (int) Math.min(Integer.MAX_VALUE, bytes);
+    }
+
+    // returns the hash function count of the newest stage, older stages use fewer
+    @Override
+    public int getHashFunctionCount() {
+        return stages.get(stages.size() - 1).filter.getHashFunctionCount();
+    }
+
+    public int getStageCount() {
+        return stages.size();
+    }
+
+    public long getStageCapacity(int stage) {
+        return stages.get(stage).capacity;
+    }
+
+    public double getStageFalsePositiveRate(int stage) {
+        return stages.get(stage).falsePositiveRate;
+    }
+
+    public long getStageBitCount(int stage) {
+        return stages.get(stage).filter.getBitCount();
+    }
+
+    public int getStageHashFunctionCount(int stage) {
+        return stages.get(stage).filter.getHashFunctionCount();
+    }
+}
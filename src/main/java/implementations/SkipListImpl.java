@@ -1,18 +1,29 @@
 package implementations;
 
-import api.SkipList;
+import api.IndexedSkipList;
+import api.NavigableSkipList;
 
 import java.lang.reflect.Array;
 import java.security.SecureRandom;
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
 
-public class SkipListImpl<E> implements SkipList<E> {
+// Every forward link also stores its span, the number of level 0 steps it skips. A link that reaches the
+// end of the list spans the remaining elements plus one, so summing spans along a search path gives an
+// element's position and positional lookups take the same O(log n) path as contains (Redis zset style).
+public class SkipListImpl<E> implements IndexedSkipList<E>, NavigableSkipList<E> {
+
+    public static final int MAX_FIXED_HEIGHT = 64;
 
     private final ListNode<E> head;
     private int size;
     private final SecureRandom random;
     private Comparator<E> comparator;
     private int currentMaxHeight;
+    // zero when the height follows ceil(log2(size)), otherwise the fixed number of levels
+    private final int fixedHeight;
+    // counts structural changes so cursors can tell when their cached search path is stale
+    private int modCount;
 
     public SkipListImpl(Comparator<E> comparator) {
         this();
@@ -21,8 +32,26 @@ public class SkipListImpl<E> implements SkipList<E> {
 
     public SkipListImpl() {
         currentMaxHeight = 1;
+        fixedHeight = 0;
         random = new SecureRandom();
-        head = new ListNode<>(null, currentMaxHeight, null);
+        head = new ListNode<>(null, currentMaxHeight, 1);
+    }
+
+    // Stable height mode. The list always has maxHeight levels and node heights are drawn from a geometric
+    // distribution with a thread local generator, so no add or remove ever re-levels the whole list.
+    // A max height of about log2 of the largest expected size keeps searches at O(log n).
+    public SkipListImpl(int maxHeight) {
+        if (maxHeight < 1 || maxHeight > MAX_FIXED_HEIGHT)
+            throw new IllegalArgumentException("Max height must be between 1 and " + MAX_FIXED_HEIGHT);
+        currentMaxHeight = maxHeight;
+        fixedHeight = maxHeight;
+        random = null;
+        head = new ListNode<>(null, currentMaxHeight, 1);
+    }
+
+    public SkipListImpl(int maxHeight, Comparator<E> comparator) {
+        this(maxHeight);
+        this.comparator = comparator;
     }
 
     @Override
@@ -46,11 +75,12 @@ public class SkipListImpl<E> implements SkipList<E> {
         ListNode<E> current = head;
         while (current != null) {
             for (int i = current.getHeight() - 1; i >= 0; i--) {
-                int cmpValue = (current.getReference(i) != null) ? compare(o, current.getReference(i).getData()) : -1;
+                ListNode<E> next = current.getReference(i);
+                int cmpValue = (next != null) ? compare(o, next.getData()) : -1;
                 if (cmpValue == 0)
                     return true;
                 if (cmpValue > 0) {
-                    current = current.getReference(i);
+                    current = next;
                     break;
                 }
                 if (i == 0)
@@ -89,64 +119,69 @@ public class SkipListImpl<E> implements SkipList<E> {
     @Override
     public boolean add(E e) {
         Objects.requireNonNull(e);
-        List<NodeIndexPair<E>> referenceUpdates = new LinkedList<>();
+        int height = head.getHeight();
+        ListNode<E>[] update = ListNode.newReferences(height);
+        int[] rank = new int[height];
         ListNode<E> current = head;
-        boolean insertionPointFound = false;
-        while (!insertionPointFound) {
-            for (int i = current.getHeight() - 1; i >= 0; i--) {
-                int cmpValue = (current.getReference(i) == null) ? -1 : compare(e, current.getReference(i).getData());
-                if (cmpValue > 0) {
-                    current = current.getReference(i);
-                    break;
-                }
-                else if (cmpValue == 0) {
-                    return false;
-                }
-                else {
-                    referenceUpdates.add(new NodeIndexPair<>(current, i));
-                    if (i == 0) {
-                        insertionPointFound = true;
-                        break;
-                    }
-                }
+        int position = 0;
+        for (int i = height - 1; i >= 0; i--) {
+            ListNode<E> next = current.getReference(i);
+            int cmpValue = -1;
+            while (next != null && (cmpValue = compare(e, next.getData())) > 0) {
+                position += current.getSpan(i);
+                current = next;
+                next = current.getReference(i);
             }
+            if (next != null && cmpValue == 0)
+                return false;
+            update[i] = current;
+            rank[i] = position;
         }
+        insert(e, update, rank);
+        return true;
+    }
+
+    // update[i] is the last node before e on level i and rank[i] its position
+    private void insert(E e, ListNode<E>[] update, int[] rank) {
+        int height = update.length;
         size++;
+        modCount++;
         int newNodeHeight = genNodeHeight();
-        ListNode<E> newNode = new ListNode<>(e, newNodeHeight);
-        for (NodeIndexPair<E> pair : referenceUpdates) {
-            if (pair.index < newNodeHeight)
-                newNode.setReference(pair.index, pair.node.setReference(pair.index, newNode));
+        ListNode<E> newNode = new ListNode<>(e, newNodeHeight, 0);
+        for (int i = 0; i < height; i++) {
+            if (i < newNodeHeight) {
+                // the new node sits rank[0] - rank[i] + 1 steps after its predecessor on level i
+                newNode.setReference(i, update[i].setReference(i, newNode));
+                newNode.setSpan(i, update[i].getSpan(i) - (rank[0] - rank[i]));
+                update[i].setSpan(i, rank[0] - rank[i] + 1);
+            } else {
+                update[i].setSpan(i, update[i].getSpan(i) + 1);
+            }
         }
         boolean heightWasUpdated = setMaxHeight();
         if (heightWasUpdated) {
             updateNodeHeights();
         }
-        return true;
-    }
-
-    private static class NodeIndexPair<E> {
-        ListNode<E> node;
-        int index;
-
-        public NodeIndexPair(ListNode<E> node, int index) {
-            this.node = node;
-            this.index = index;
-        }
     }
 
     private void updateNodeHeights() {
-        head.addReference(null);
+        int level = currentMaxHeight - 1;
+        head.addReference(null, 0);
         ListNode<E> current = head;
-        ListNode<E> next = head.getReference(currentMaxHeight - 2);
+        int currentRank = 0;
+        ListNode<E> next = head.getReference(level - 1);
+        int nextRank = head.getSpan(level - 1);
         while (next != null) {
             if ((random.nextInt(2) == 1)) {
-                next.addReference(current.setReference(currentMaxHeight - 1, next));
+                next.addReference(current.setReference(level, next), 0);
+                current.setSpan(level, nextRank - currentRank);
                 current = next;
+                currentRank = nextRank;
             }
-
-            next = next.getReference(currentMaxHeight - 2);
+            nextRank += next.getSpan(level - 1);
+            next = next.getReference(level - 1);
         }
+        current.setSpan(level, size + 1 - currentRank);
     }
 
     @SuppressWarnings("unchecked")
@@ -160,46 +195,304 @@ public class SkipListImpl<E> implements SkipList<E> {
         return collection.stream().allMatch(this::contains);
     }
 
+    // Adds every element of the collection and returns true if the list changed. Large batches are merged
+    // with the existing elements and every level is rebuilt in one linear pass, so sorted input costs O(n + m)
+    // instead of one O(log n) search per element. Unsorted input is sorted first.
     @Override
     public boolean addAll(Collection<? extends E> collection) {
         Objects.requireNonNull(collection);
-        return collection.stream().allMatch(this::add);
+        Object[] elements = collection.toArray();
+        // a batch that is small next to the list is cheaper to add one element at a time
+        if ((long) elements.length * currentMaxHeight < size) {
+            boolean changed = false;
+            for (Object element : elements)
+                changed |= add(elementOf(element));
+            return changed;
+        }
+        boolean sorted = true;
+        for (int i = 0; i < elements.length; i++) {
+            Objects.requireNonNull(elements[i]);
+            if (i > 0 && compare(elements[i - 1], elements[i]) > 0)
+                sorted = false;
+        }
+        if (!sorted)
+            Arrays.sort(elements, this::compare);
+        return bulkLoad(elements);
+    }
+
+    @SuppressWarnings("unchecked")
+    private E elementOf(Object element) {
+        return (E) element;
+    }
+
+    // Merges the sorted elements into the level 0 chain, skipping duplicates, and links every level with a
+    // single left to right sweep that remembers the last node and rank seen on each level.
+    private boolean bulkLoad(Object[] elements) {
+        modCount++;
+        int oldSize = size;
+        int height = isFixedHeight() ? fixedHeight : levelsFor((long) size + elements.length);
+        ListNode<E>[] last = ListNode.newReferences(height);
+        int[] lastRank = new int[height];
+        Arrays.fill(last, head);
+        ListNode<E> existing = head.getReference(0);
+        head.resetReferences(height, 0);
+        int rank = 0;
+        int i = 0;
+        while (existing != null || i < elements.length) {
+            ListNode<E> node;
+            if (existing != null && (i == elements.length || compare(existing.getData(), elements[i]) <= 0)) {
+                node = existing;
+                existing = existing.getReference(0);
+            } else {
+                E element = elementOf(elements[i++]);
+                if (last[0] != head && compare(last[0].getData(), element) == 0)
+                    continue;
+                node = new ListNode<>(element, 1, 0);
+            }
+            rank++;
+            int nodeHeight = sampleHeight(height);
+            node.resetReferences(nodeHeight, 0);
+            for (int level = 0; level < nodeHeight; level++) {
+                last[level].setReference(level, node);
+                last[level].setSpan(level, rank - lastRank[level]);
+                last[level] = node;
+                lastRank[level] = rank;
+            }
+        }
+        for (int level = 0; level < height; level++)
+            last[level].setSpan(level, rank + 1 - lastRank[level]);
+        size = rank;
+        currentMaxHeight = height;
+        // duplicates may leave the list shorter than the height was sized for
+        if (setMaxHeight())
+            trimSkipList();
+        return size != oldSize;
     }
 
     @Override
     public boolean remove(E e) {
         Objects.requireNonNull(e);
+        ListNode<E>[] update = ListNode.newReferences(head.getHeight());
         ListNode<E> current = head;
-        List<NodeIndexPair<E>> referenceUpdates = new ArrayList<>();
-        boolean nodeFound = false;
-        while (!nodeFound) {
-            for (int i = current.getHeight() - 1; i >= 0; i--) {
-                int cmpValue = (current.getReference(i) == null) ? -1 : compare(e, current.getReference(i).getData());
-                if (cmpValue > 0) {
-                    current = current.getReference(i);
-                    break;
-                }
-                if (cmpValue == 0) {
-                    referenceUpdates.add(new NodeIndexPair<>(current, i));
-                    if (i == 0) {
-                        nodeFound = true;
-                        break;
-                    }
-                }
-                if (i == 0)
-                    return false;
+        for (int i = head.getHeight() - 1; i >= 0; i--) {
+            ListNode<E> next = current.getReference(i);
+            while (next != null && compare(e, next.getData()) > 0) {
+                current = next;
+                next = current.getReference(i);
             }
+            update[i] = current;
         }
-        ListNode<E> deletedNode = referenceUpdates.get(referenceUpdates.size() - 1).node;
-        for (NodeIndexPair<E> pair : referenceUpdates) {
-            if (pair.index < deletedNode.getHeight())
-                pair.node.setReference(pair.index, deletedNode.getReference(pair.index));
+        ListNode<E> deletedNode = current.getReference(0);
+        if (deletedNode == null || compare(e, deletedNode.getData()) != 0)
+            return false;
+        unlink(deletedNode, update);
+        return true;
+    }
+
+    // update[i] is the last node before deletedNode on level i
+    private void unlink(ListNode<E> deletedNode, ListNode<E>[] update) {
+        modCount++;
+        for (int i = 0; i < update.length; i++) {
+            if (update[i].getReference(i) == deletedNode) {
+                update[i].setSpan(i, update[i].getSpan(i) + deletedNode.getSpan(i) - 1);
+                update[i].setReference(i, deletedNode.getReference(i));
+            } else {
+                update[i].setSpan(i, update[i].getSpan(i) - 1);
+            }
         }
         size--;
         boolean heightWasUpdated = setMaxHeight();
         if (heightWasUpdated)
             trimSkipList();
-        return true;
+    }
+
+    // Returns the element at the zero based index in sorted order.
+    @Override
+    public E get(int index) {
+        Objects.checkIndex(index, size);
+        ListNode<E> current = head;
+        int position = 0;
+        for (int i = head.getHeight() - 1; i >= 0; i--) {
+            while (current.getReference(i) != null && position + current.getSpan(i) <= index + 1) {
+                position += current.getSpan(i);
+                current = current.getReference(i);
+            }
+            if (position == index + 1)
+                return current.getData();
+        }
+        throw new IllegalStateException("Skip list spans are inconsistent");
+    }
+
+    // Returns the zero based index of e, or -1 if the list doesn't contain it.
+    @Override
+    public int indexOf(E e) {
+        int rank = rank(e);
+        return (rank < size && compare(e, get(rank)) == 0) ? rank : -1;
+    }
+
+    // Returns the number of elements smaller than e, which is also the index e has or would have.
+    @Override
+    public int rank(E e) {
+        Objects.requireNonNull(e);
+        return countBelow(e, false);
+    }
+
+    // number of elements smaller than e, or no greater than e when inclusive
+    private int countBelow(E e, boolean inclusive) {
+        ListNode<E> current = head;
+        int position = 0;
+        for (int i = head.getHeight() - 1; i >= 0; i--) {
+            while (current.getReference(i) != null && isBelow(current.getReference(i).getData(), e, inclusive)) {
+                position += current.getSpan(i);
+                current = current.getReference(i);
+            }
+        }
+        return position;
+    }
+
+    // last node smaller than e, or no greater than e when inclusive, head if there is none
+    private ListNode<E> lowerNode(E e, boolean inclusive) {
+        ListNode<E> current = head;
+        for (int i = head.getHeight() - 1; i >= 0; i--) {
+            while (current.getReference(i) != null && isBelow(current.getReference(i).getData(), e, inclusive))
+                current = current.getReference(i);
+        }
+        return current;
+    }
+
+    private ListNode<E> lastNode() {
+        ListNode<E> current = head;
+        for (int i = head.getHeight() - 1; i >= 0; i--) {
+            while (current.getReference(i) != null)
+                current = current.getReference(i);
+        }
+        return current;
+    }
+
+    private boolean isBelow(E data, E e, boolean inclusive) {
+        int cmpValue = compare(data, e);
+        return cmpValue < 0 || (inclusive && cmpValue == 0);
+    }
+
+    // Removes and returns the element at the zero based index.
+    @Override
+    public E removeAt(int index) {
+        Objects.checkIndex(index, size);
+        ListNode<E>[] update = ListNode.newReferences(head.getHeight());
+        ListNode<E> current = head;
+        int position = 0;
+        for (int i = head.getHeight() - 1; i >= 0; i--) {
+            while (current.getReference(i) != null && position + current.getSpan(i) <= index) {
+                position += current.getSpan(i);
+                current = current.getReference(i);
+            }
+            update[i] = current;
+        }
+        ListNode<E> deletedNode = current.getReference(0);
+        unlink(deletedNode, update);
+        return deletedNode.getData();
+    }
+
+    @Override
+    public E first() {
+        if (size == 0)
+            throw new NoSuchElementException();
+        return head.getReference(0).getData();
+    }
+
+    @Override
+    public E last() {
+        if (size == 0)
+            throw new NoSuchElementException();
+        return lastNode().getData();
+    }
+
+    // Returns the smallest element greater than or equal to e, or null if there is none.
+    @Override
+    public E ceiling(E e) {
+        Objects.requireNonNull(e);
+        return dataOf(lowerNode(e, false).getReference(0));
+    }
+
+    // Returns the largest element less than or equal to e, or null if there is none.
+    @Override
+    public E floor(E e) {
+        Objects.requireNonNull(e);
+        return dataOf(lowerNode(e, true));
+    }
+
+    // Returns the smallest element strictly greater than e, or null if there is none.
+    @Override
+    public E higher(E e) {
+        Objects.requireNonNull(e);
+        return dataOf(lowerNode(e, true).getReference(0));
+    }
+
+    // Returns the largest element strictly less than e, or null if there is none.
+    @Override
+    public E lower(E e) {
+        Objects.requireNonNull(e);
+        return dataOf(lowerNode(e, false));
+    }
+
+    private E dataOf(ListNode<E> node) {
+        return (node == null || node == head) ? null : node.getData();
+    }
+
+    @Override
+    public E pollFirst() {
+        return (size == 0) ? null : removeAt(0);
+    }
+
+    @Override
+    public E pollLast() {
+        return (size == 0) ? null : removeAt(size - 1);
+    }
+
+    // The range views below are backed by the list, so changes through either are visible in both.
+    @Override
+    public NavigableSet<E> subSet(E fromElement, E toElement) {
+        return subSet(fromElement, true, toElement, false);
+    }
+
+    @Override
+    public NavigableSet<E> subSet(E fromElement, boolean fromInclusive, E toElement, boolean toInclusive) {
+        Objects.requireNonNull(fromElement);
+        Objects.requireNonNull(toElement);
+        return new SubSet(null, false, null, false, false).range(fromElement, fromInclusive, toElement, toInclusive);
+    }
+
+    @Override
+    public NavigableSet<E> headSet(E toElement) {
+        return headSet(toElement, false);
+    }
+
+    @Override
+    public NavigableSet<E> headSet(E toElement, boolean inclusive) {
+        Objects.requireNonNull(toElement);
+        return new SubSet(null, false, toElement, inclusive, false);
+    }
+
+    @Override
+    public NavigableSet<E> tailSet(E fromElement) {
+        return tailSet(fromElement, true);
+    }
+
+    @Override
+    public NavigableSet<E> tailSet(E fromElement, boolean inclusive) {
+        Objects.requireNonNull(fromElement);
+        return new SubSet(fromElement, inclusive, null, false, false);
+    }
+
+    @Override
+    public NavigableSet<E> descendingSet() {
+        return new SubSet(null, false, null, false, true);
+    }
+
+    // Nodes only link forward, so each step of a descending iteration is its own O(log n) search.
+    @Override
+    public Iterator<E> descendingIterator() {
+        return descendingSet().iterator();
     }
 
     @Override
@@ -210,9 +503,133 @@ public class SkipListImpl<E> implements SkipList<E> {
 
     @Override
     public void clear() {
+        this.modCount++;
         this.size = 0;
-        this.currentMaxHeight = 1;
-        head.clearAllReferences();
+        this.currentMaxHeight = isFixedHeight() ? fixedHeight : 1;
+        head.resetReferences(currentMaxHeight, 1);
+    }
+
+    public boolean isFixedHeight() {
+        return fixedHeight != 0;
+    }
+
+    // Returns a cursor that remembers the search path of the last key it visited, for workloads whose keys
+    // arrive in nearly sorted order.
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    // Finger search. The cursor caches the last node before its previous key on every level together with
+    // its position. A search climbs only until the cached path brackets the new key, then descends from
+    // there, so a key d elements away from the previous one costs O(log d) instead of O(log n). Changes made
+    // through the cursor keep the path valid, while any other change to the list, or a change of height,
+    // makes the next search start again from the head.
+    public class Cursor {
+
+        private ListNode<E>[] update;
+        private int[] rank;
+        private int expectedModCount;
+
+        private Cursor() {
+            reset();
+        }
+
+        private void reset() {
+            update = ListNode.newReferences(head.getHeight());
+            Arrays.fill(update, head);
+            rank = new int[head.getHeight()];
+            expectedModCount = modCount;
+        }
+
+        private boolean isBefore(ListNode<E> node, E e) {
+            return node == head || compare(node.getData(), e) < 0;
+        }
+
+        // Moves the cached path to e. Cached nodes get closer to the previous key on lower levels, so if the
+        // level 0 node is before e every cached node is. Going forward the search climbs until the cached
+        // successor is at or past e, going back it climbs until a cached node is before e. Levels above the
+        // one it stops at already hold the right nodes for e.
+        private void seek(E e) {
+            Objects.requireNonNull(e);
+            if (expectedModCount != modCount)
+                reset();
+            boolean forward = isBefore(update[0], e);
+            boolean before = forward;
+            int level = 0;
+            while (level < update.length - 1) {
+                if (before) {
+                    ListNode<E> next = update[level].getReference(level);
+                    if (next == null || compare(e, next.getData()) <= 0)
+                        break;
+                }
+                level++;
+                if (!before)
+                    before = isBefore(update[level], e);
+            }
+            ListNode<E> current = head;
+            int position = 0;
+            if (before) {
+                current = update[level];
+                position = rank[level];
+            }
+            for (int i = level; i >= 0; i--) {
+                // going forward the cached node on a lower level is closer to e
+                if (forward && rank[i] > position) {
+                    current = update[i];
+                    position = rank[i];
+                }
+                ListNode<E> next = current.getReference(i);
+                while (next != null && compare(e, next.getData()) > 0) {
+                    position += current.getSpan(i);
+                    current = next;
+                    next = current.getReference(i);
+                }
+                update[i] = current;
+                rank[i] = position;
+            }
+        }
+
+        private boolean found(E e) {
+            ListNode<E> next = update[0].getReference(0);
+            return next != null && compare(e, next.getData()) == 0;
+        }
+
+        // the path stays valid after the cursor's own change unless the list changed height
+        private void resync(int height) {
+            if (head.getHeight() == height)
+                expectedModCount = modCount;
+        }
+
+        public boolean contains(E e) {
+            seek(e);
+            return found(e);
+        }
+
+        // Returns the number of elements smaller than e.
+        public int rank(E e) {
+            seek(e);
+            return rank[0];
+        }
+
+        public boolean add(E e) {
+            seek(e);
+            if (found(e))
+                return false;
+            int height = head.getHeight();
+            insert(e, update, rank);
+            resync(height);
+            return true;
+        }
+
+        public boolean remove(E e) {
+            seek(e);
+            if (!found(e))
+                return false;
+            int height = head.getHeight();
+            unlink(update[0].getReference(0), update);
+            resync(height);
+            return true;
+        }
     }
 
     public String toString() {
@@ -230,17 +647,31 @@ public class SkipListImpl<E> implements SkipList<E> {
     }
 
     private int genNodeHeight() {
+        if (isFixedHeight())
+            return sampleHeight(fixedHeight);
         int nodeHeight = 1;
         while((nodeHeight < currentMaxHeight) && (random.nextInt(2) == 1)) nodeHeight++;
         return nodeHeight;
     }
 
+    // geometric height with p = 1/2, each trailing zero bit is one successful coin flip
+    private static int sampleHeight(int maxHeight) {
+        long flips = ThreadLocalRandom.current().nextLong();
+        return Math.min(maxHeight, Long.numberOfTrailingZeros(flips) + 1);
+    }
+
     private boolean setMaxHeight() {
+        if (isFixedHeight())
+            return false;
         int oldMaxHeight = currentMaxHeight;
-        currentMaxHeight = Math.max(1, (int)Math.ceil( Math.log(size) / Math.log(2)));
+        currentMaxHeight = levelsFor(size);
         return (oldMaxHeight != currentMaxHeight);
     }
 
+    private static int levelsFor(long size) {
+        return Math.max(1, (int)Math.ceil( Math.log(size) / Math.log(2)));
+    }
+
     private void trimSkipList() {
         ListNode<E> current = head;
         while (current != null) {
@@ -250,23 +681,22 @@ public class SkipListImpl<E> implements SkipList<E> {
         }
     }
 
+    // Forward references and their spans live in exact sized arrays owned by the node, one object less than
+    // an ArrayList and no spare capacity. Heights only change when the whole list is re-leveled, so the
+    // arrays are copied rather than grown in place.
     private static class ListNode<E> {
-        private E data;
-        private ArrayList<ListNode<E>> references;
-
-        public ListNode() {
-        }
+        private final E data;
+        private ListNode<E>[] references;
+        private int[] spans;
 
-        public ListNode(E data, int height) {
+        public ListNode(E data, int height, int span) {
             this.data = data;
-            this.references = new ArrayList<>(height + 1);
-            for (int i = 0; i < height; i++)
-                references.add(null);
+            resetReferences(height, span);
         }
 
-        public ListNode(E data, int height, ListNode<E> next) {
-            this(data, height);
-            references.set(0, next);
+        @SuppressWarnings("unchecked")
+        private static <E> ListNode<E>[] newReferences(int height) {
+            return (ListNode<E>[]) new ListNode<?>[height];
         }
 
         public E getData() {
@@ -274,29 +704,359 @@ public class SkipListImpl<E> implements SkipList<E> {
         }
 
         public int getHeight() {
-            return references.size();
+            return references.length;
         }
 
         public ListNode<E> getReference(int index) {
-            return references.get(index);
+            return references[index];
         }
 
         public ListNode<E> setReference(int index, ListNode<E> reference) {
-            return references.set(index, reference);
+            ListNode<E> previous = references[index];
+            references[index] = reference;
+            return previous;
         }
 
-        public void addReference(ListNode<E> reference) {
-            references.add(reference);
+        public int getSpan(int index) {
+            return spans[index];
         }
-        public void clearAllReferences() {
-            references.clear();
+
+        public void setSpan(int index, int span) {
+            spans[index] = span;
+        }
+
+        public void addReference(ListNode<E> reference, int span) {
+            references = Arrays.copyOf(references, references.length + 1);
+            references[references.length - 1] = reference;
+            spans = Arrays.copyOf(spans, spans.length + 1);
+            spans[spans.length - 1] = span;
+        }
+
+        public void resetReferences(int height, int span) {
+            references = newReferences(height);
+            spans = new int[height];
+            Arrays.fill(spans, span);
         }
 
         public void trim(int height) {
-            while (references.size() > height)
-                references.remove(references.size() - 1);
+            if (references.length > height) {
+                references = Arrays.copyOf(references, height);
+                spans = Arrays.copyOf(spans, height);
+            }
         }
     }
+    // Live view of the elements between two optional bounds. A view seeks to its first element with one
+    // O(log n) search and then follows level 0 links, and its size is the difference of two span ranks.
+    // Bounds are always kept in ascending order; a descending view swaps the direction of every
+    // navigation method and of its comparator.
+    private class SubSet extends AbstractSet<E> implements NavigableSet<E> {
+
+        private final E low;
+        private final boolean lowInclusive;
+        private final E high;
+        private final boolean highInclusive;
+        private final boolean descending;
+
+        public SubSet(E low, boolean lowInclusive, E high, boolean highInclusive, boolean descending) {
+            if (low != null && high != null && compare(low, high) > 0)
+                throw new IllegalArgumentException("fromElement > toElement");
+            this.low = low;
+            this.lowInclusive = lowInclusive;
+            this.high = high;
+            this.highInclusive = highInclusive;
+            this.descending = descending;
+        }
+
+        private boolean tooLow(Object o) {
+            if (low == null)
+                return false;
+            int cmpValue = compare(o, low);
+            return cmpValue < 0 || (cmpValue == 0 && !lowInclusive);
+        }
+
+        private boolean tooHigh(Object o) {
+            if (high == null)
+                return false;
+            int cmpValue = compare(o, high);
+            return cmpValue > 0 || (cmpValue == 0 && !highInclusive);
+        }
+
+        private boolean inRange(Object o) {
+            return !tooLow(o) && !tooHigh(o);
+        }
+
+        // bounds of a nested view must lie within this view's bounds, inclusive of its endpoints
+        private SubSet range(E from, boolean fromInclusive, E to, boolean toInclusive) {
+            if (from == null) {
+                from = low;
+                fromInclusive = lowInclusive;
+            } else if (low != null) {
+                int cmpValue = compare(from, low);
+                if (cmpValue < 0 || (high != null && compare(from, high) > 0))
+                    throw new IllegalArgumentException("fromElement out of range");
+                if (cmpValue == 0)
+                    fromInclusive &= lowInclusive;
+            } else if (high != null && compare(from, high) > 0) {
+                throw new IllegalArgumentException("fromElement out of range");
+            }
+            if (to == null) {
+                to = high;
+                toInclusive = highInclusive;
+            } else if (high != null) {
+                int cmpValue = compare(to, high);
+                if (cmpValue > 0 || (low != null && compare(to, low) < 0))
+                    throw new IllegalArgumentException("toElement out of range");
+                if (cmpValue == 0)
+                    toInclusive &= highInclusive;
+            } else if (low != null && compare(to, low) < 0) {
+                throw new IllegalArgumentException("toElement out of range");
+            }
+            return new SubSet(from, fromInclusive, to, toInclusive, descending);
+        }
+
+        private ListNode<E> lowestNode() {
+            ListNode<E> node = (low == null) ? head.getReference(0) : lowerNode(low, !lowInclusive).getReference(0);
+            return (node == null || tooHigh(node.getData())) ? null : node;
+        }
+
+        private ListNode<E> highestNode() {
+            ListNode<E> node = (high == null) ? lastNode() : lowerNode(high, highInclusive);
+            return (node == head || tooLow(node.getData())) ? null : node;
+        }
+
+        // smallest node in the view at or above e, or strictly above it when not inclusive
+        private ListNode<E> aboveNode(E e, boolean inclusive) {
+            if (tooLow(e))
+                return lowestNode();
+            ListNode<E> node = lowerNode(e, !inclusive).getReference(0);
+            return (node == null || tooHigh(node.getData())) ? null : node;
+        }
+
+        // largest node in the view at or below e, or strictly below it when not inclusive
+        private ListNode<E> belowNode(E e, boolean inclusive) {
+            if (tooHigh(e))
+                return highestNode();
+            ListNode<E> node = lowerNode(e, inclusive);
+            return (node == head || tooLow(node.getData())) ? null : node;
+        }
+
+        private E pollNode(ListNode<E> node) {
+            if (node == null)
+                return null;
+            SkipListImpl.this.remove(node.getData());
+            return node.getData();
+        }
+
+        @Override
+        public Iterator<E> iterator() {
+            return descending ? new DescendingSubSetIterator(highestNode()) : new SubSetIterator(lowestNode());
+        }
+
+        @Override
+        public Iterator<E> descendingIterator() {
+            return descending ? new SubSetIterator(lowestNode()) : new DescendingSubSetIterator(highestNode());
+        }
+
+        @Override
+        public NavigableSet<E> descendingSet() {
+            return new SubSet(low, lowInclusive, high, highInclusive, !descending);
+        }
+
+        @Override
+        public int size() {
+            int below = (low == null) ? 0 : countBelow(low, !lowInclusive);
+            int upTo = (high == null) ? size : countBelow(high, highInclusive);
+            return Math.max(0, upTo - below);
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return lowestNode() == null;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean contains(Object o) {
+            Objects.requireNonNull(o);
+            return inRange(o) && SkipListImpl.this.contains((E) o);
+        }
+
+        @Override
+        public boolean add(E e) {
+            Objects.requireNonNull(e);
+            if (!inRange(e))
+                throw new IllegalArgumentException("Element out of range");
+            return SkipListImpl.this.add(e);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean remove(Object o) {
+            Objects.requireNonNull(o);
+            return inRange(o) && SkipListImpl.this.remove((E) o);
+        }
+
+        @Override
+        public Comparator<? super E> comparator() {
+            return descending ? Collections.reverseOrder(comparator) : comparator;
+        }
+
+        @Override
+        public NavigableSet<E> subSet(E fromElement, E toElement) {
+            return subSet(fromElement, true, toElement, false);
+        }
+
+        @Override
+        public NavigableSet<E> subSet(E fromElement, boolean fromInclusive, E toElement, boolean toInclusive) {
+            Objects.requireNonNull(fromElement);
+            Objects.requireNonNull(toElement);
+            return descending ? range(toElement, toInclusive, fromElement, fromInclusive)
+                    : range(fromElement, fromInclusive, toElement, toInclusive);
+        }
+
+        @Override
+        public NavigableSet<E> headSet(E toElement) {
+            return headSet(toElement, false);
+        }
+
+        @Override
+        public NavigableSet<E> headSet(E toElement, boolean inclusive) {
+            Objects.requireNonNull(toElement);
+            return descending ? range(toElement, inclusive, null, false) : range(null, false, toElement, inclusive);
+        }
+
+        @Override
+        public NavigableSet<E> tailSet(E fromElement) {
+            return tailSet(fromElement, true);
+        }
+
+        @Override
+        public NavigableSet<E> tailSet(E fromElement, boolean inclusive) {
+            Objects.requireNonNull(fromElement);
+            return descending ? range(null, false, fromElement, inclusive) : range(fromElement, inclusive, null, false);
+        }
+
+        @Override
+        public E first() {
+            ListNode<E> node = descending ? highestNode() : lowestNode();
+            if (node == null)
+                throw new NoSuchElementException();
+            return node.getData();
+        }
+
+        @Override
+        public E last() {
+            ListNode<E> node = descending ? lowestNode() : highestNode();
+            if (node == null)
+                throw new NoSuchElementException();
+            return node.getData();
+        }
+
+        @Override
+        public E ceiling(E e) {
+            Objects.requireNonNull(e);
+            return dataOf(descending ? belowNode(e, true) : aboveNode(e, true));
+        }
+
+        @Override
+        public E floor(E e) {
+            Objects.requireNonNull(e);
+            return dataOf(descending ? aboveNode(e, true) : belowNode(e, true));
+        }
+
+        @Override
+        public E higher(E e) {
+            Objects.requireNonNull(e);
+            return dataOf(descending ? belowNode(e, false) : aboveNode(e, false));
+        }
+
+        @Override
+        public E lower(E e) {
+            Objects.requireNonNull(e);
+            return dataOf(descending ? aboveNode(e, false) : belowNode(e, false));
+        }
+
+        @Override
+        public E pollFirst() {
+            return pollNode(descending ? highestNode() : lowestNode());
+        }
+
+        @Override
+        public E pollLast() {
+            return pollNode(descending ? lowestNode() : highestNode());
+        }
+
+        private class SubSetIterator implements Iterator<E> {
+
+            private ListNode<E> next;
+            private ListNode<E> lastReturned;
+
+            public SubSetIterator(ListNode<E> first) {
+                next = first;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public E next() {
+                if (next == null)
+                    throw new NoSuchElementException();
+                lastReturned = next;
+                next = next.getReference(0);
+                if (next != null && tooHigh(next.getData()))
+                    next = null;
+                return lastReturned.getData();
+            }
+
+            // an unlinked node keeps its own links, so iteration continues from the node after it
+            @Override
+            public void remove() {
+                if (lastReturned == null)
+                    throw new IllegalStateException();
+                SkipListImpl.this.remove(lastReturned.getData());
+                lastReturned = null;
+            }
+        }
+
+        // finds each predecessor with a fresh search from the head, since nodes have no back links
+        private class DescendingSubSetIterator implements Iterator<E> {
+
+            private ListNode<E> next;
+            private ListNode<E> lastReturned;
+
+            public DescendingSubSetIterator(ListNode<E> first) {
+                next = first;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public E next() {
+                if (next == null)
+                    throw new NoSuchElementException();
+                lastReturned = next;
+                next = lowerNode(lastReturned.getData(), false);
+                if (next == head || tooLow(next.getData()))
+                    next = null;
+                return lastReturned.getData();
+            }
+
+            @Override
+            public void remove() {
+                if (lastReturned == null)
+                    throw new IllegalStateException();
+                SkipListImpl.this.remove(lastReturned.getData());
+                lastReturned = null;
+            }
+        }
+    }
+
     private class SkipListIterator implements Iterator<E> {
 
         private ListNode<E> current;
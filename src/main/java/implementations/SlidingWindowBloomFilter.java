@@ -0,0 +1,211 @@
+package implementations;
+
+import api.BloomFilter;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Objects;
+
+// Bloom filter over a sliding time window, built from a ring of generations that each cover
+// window / generationCount of time. New elements go into the current generation; when its time is up
+// the oldest generation is retired and reused as the new current one, and memory is bounded by the
+// window rather than the length of the stream. Lookups check every live generation, which means an
+// element is remembered for at least window * (generationCount - 1) / generationCount and at most the
+// full window after it was added.
+//
+// All generations share one geometry, so an element is hashed once and the same bit indices are probed
+// in every generation. Retiring a generation is O(1): each block of BLOCK_WORDS words is tagged with
+// the epoch that last wrote it, and a block whose tag is older than its generation's epoch reads as
+// zero. The stale words are only wiped when the first add of the new epoch touches the block, so the
+// cost of clearing is spread over the adds instead of paid in full inside the add or contains that
+// happens to cross a generation boundary.
+public class SlidingWindowBloomFilter<E> implements BloomFilter<E> {
+
+    private static final int BLOCK_SHIFT = 3;
+    private static final int BLOCK_WORDS = 1 << BLOCK_SHIFT;
+
+    private final Generation[] generations;
+    private final long numBits;
+    private final int numHashes;
+    private final long generationMillis;
+    private final Clock clock;
+    private int current;
+    private long currentGenerationStart;
+    // incremented every time a generation is retired, so a newer epoch is always larger
+    private long epoch;
+
+    public SlidingWindowBloomFilter(Duration window, int generationCount, long expectedElementsPerGeneration, double desiredFalsePositiveRate) {
+        this(window, generationCount, expectedElementsPerGeneration, desiredFalsePositiveRate, Clock.systemUTC());
+    }
+
+    public SlidingWindowBloomFilter(Duration window, int generationCount, long expectedElementsPerGeneration, double desiredFalsePositiveRate, Clock clock) {
+        Objects.requireNonNull(window);
+        Objects.requireNonNull(clock);
+        BloomFilterMath.checkArguments(expectedElementsPerGeneration, desiredFalsePositiveRate);
+        if (generationCount < 2)
+            throw new IllegalArgumentException("A sliding window needs at least two generations");
+        if (window.toMillis() < generationCount)
+            throw new IllegalArgumentException("The window must be at least one millisecond per generation");
+        this.generationMillis = window.toMillis() / generationCount;
+        this.clock = clock;
+        // split the rate so that a lookup across every generation still meets the desired rate
+        double generationRate = 1 - Math.pow(1 - desiredFalsePositiveRate, 1.0 / generationCount);
+        this.numBits = BloomFilterMath.optimalBitCount(expectedElementsPerGeneration, generationRate);
+        this.numHashes = BloomFilterMath.optimalHashCount(numBits, expectedElementsPerGeneration);
+        long wordCount = (numBits + Long.SIZE - 1) >>> 6;
+        if (wordCount > Integer.MAX_VALUE - 8)
+            throw new IllegalArgumentException("A generation would exceed the maximum array size");
+        this.generations = new Generation[generationCount];
+        for (int i = 0; i < generationCount; i++)
+            generations[i] = new Generation((int) wordCount, ++epoch);
+        this.currentGenerationStart = clock.millis();
+    }
+
+    private void expire() {
+        long elapsed = clock.millis() - currentGenerationStart;
+        if (elapsed < generationMillis)
+            return;
+        long steps = elapsed / generationMillis;
+        int rotations = (int) Math.min(steps, generations.length);
+        for (int i = 0; i < rotations; i++) {
+            current = (current + 1) % generations.length;
+            generations[current].retire(++epoch);
+        }
+        currentGenerationStart += steps * generationMillis;
+    }
+
+    @Override
+    public void add(E element) {
+        Objects.requireNonNull(element);
+        expire();
+        long key = Hashing.key(element);
+        Hashing.Hash128 hash = Hashing.hash128(key, Hashing.DEFAULT_SEED);
+        Generation generation = generations[current];
+        for (int i = 0; i < numHashes; i++)
+            generation.set(hash.probe(i, numBits));
+        generation.size++;
+    }
+
+    @Override
+    public boolean contains(E element) {
+        Objects.requireNonNull(element);
+        expire();
+        long key = Hashing.key(element);
+        Hashing.Hash128 hash = Hashing.hash128(key, Hashing.DEFAULT_SEED);
+        // walk from the newest generation back, recent elements are the most likely to be queried
+        for (int g = 0; g < generations.length; g++) {
+            Generation generation = generations[Math.floorMod(current - g, generations.length)];
+            if (generation.size != 0 && generation.containsAll(hash, numHashes, numBits))
+                return true;
+        }
+        return false;
+    }
+
+    // counts the elements added to the generations that are still live
+    @Override
+    public int size() {
+        expire();
+        long size = 0;
+        for (Generation generation : generations)
+            size += generation.size;
+        return (int) Math.min(Integer.MAX_VALUE, size);
+    }
+
+    @Override
+    public double expectedFalsePositiveRate() {
+        expire();
+        double trueNegativeRate = 1;
+        for (Generation generation : generations) {
+            if (generation.size != 0)
+                trueNegativeRate *= 1 - BloomFilterMath.falsePositiveRate(numBits, numHashes, generation.size);
+        }
+        return 1 - trueNegativeRate;
+    }
+
+    @Override
+    public void addAll(Collection<? extends E> collection) {
+        collection.forEach(this::add);
+    }
+
+    @Override
+    public void clear() {
+        for (Generation generation : generations)
+            generation.retire(++epoch);
+        current = 0;
+        currentGenerationStart = clock.millis();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public boolean containsAll(Collection<? extends E> collection) {
+        return collection.stream().allMatch(this::contains);
+    }
+
+    @Override
+    public int getMemoryFootprintEstimate() {
+        // returns the memory footprint of the words and block epochs of every generation in bytes
+        long bytes = 0;
+        for (Generation generation : generations)
+            bytes += (long) (generation.words.length + generation.blockEpochs.length) * Long.BYTES;
+        return (int) Math.min(Integer.MAX_VALUE, bytes);
+    }
+
+    @Override
+    public int getHashFunctionCount() {
+        return numHashes;
+    }
+
+    public int getGenerationCount() {
+        return generations.length;
+    }
+
+    private static final class Generation {
+
+        private final long[] words;
+        private final long[] blockEpochs;
+        private long epoch;
+        private long size;
+
+        Generation(int wordCount, long epoch) {
+            this.words = new long[wordCount];
+            this.blockEpochs = new long[(wordCount + BLOCK_WORDS - 1) >>> BLOCK_SHIFT];
+            this.epoch = epoch;
+        }
+
+        // every block now predates the generation's epoch, so all of its bits read as zero
+        void retire(long newEpoch) {
+            epoch = newEpoch;
+            size = 0;
+        }
+
+        void set(long bit) {
+            int word = (int) (bit >>> 6);
+            int block = word >>> BLOCK_SHIFT;
+            if (blockEpochs[block] != epoch) {
+                int from = block << BLOCK_SHIFT;
+                Arrays.fill(words, from, Math.min(from + BLOCK_WORDS, words.length), 0L);
+                blockEpochs[block] = epoch;
+            }
+            words[word] |= 1L << bit;
+        }
+
+        boolean get(long bit) {
+            int word = (int) (bit >>> 6);
+            return blockEpochs[word >>> BLOCK_SHIFT] == epoch && (words[word] & (1L << bit)) != 0;
+        }
+
+        boolean containsAll(Hashing.Hash128 hash, int numHashes, long numBits) {
+            for (int i = 0; i < numHashes; i++) {
+                if (!get(hash.probe(i, numBits)))
+                    return false;
+            }
+            return true;
+        }
+    }
+}
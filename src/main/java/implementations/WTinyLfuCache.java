@@ -0,0 +1,203 @@
+package implementations;
+
+import api.Cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+// Size bounded cache with W-TinyLFU admission (Einziger, Friedman and Manes). New entries land in a small
+// LRU window; entries evicted from the window only enter the main segmented LRU if their estimated
+// frequency beats that of the main segment's eviction victim. The main space is split into probation and
+// protected segments, and a probation entry that is hit again moves to protected. Frequencies come from a
+// Count-Min sketch fronted by a bloom filter doorkeeper, so keys seen only once never reach the sketch.
+// Every sampleSize accesses the sketch is halved and the doorkeeper cleared, so old popularity fades.
+// A get that misses followed by a put of the same key counts as a single access.
+public class WTinyLfuCache<K, V> implements Cache<K, V> {
+
+    private static final double WINDOW_RATIO = 0.01;
+    private static final double PROTECTED_RATIO = 0.8;
+    private static final int SAMPLE_MULTIPLIER = 10;
+
+    private final int maximumSize;
+    private final int windowMaximum;
+    private final int mainMaximum;
+    private final int protectedMaximum;
+    private final LinkedHashMap<K, V> window;
+    private final LinkedHashMap<K, V> probation;
+    private final LinkedHashMap<K, V> protectedSegment;
+    private final CountMinSketch<K> sketch;
+    private final BloomFilterImpl<K> doorkeeper;
+    private final int sampleSize;
+    private int accesses;
+    // key of the last get that missed, so the put that usually follows it isn't counted as a second access
+    private K lastMiss;
+
+    public WTinyLfuCache(int maximumSize) {
+        if (maximumSize <= 0)
+            throw new IllegalArgumentException("Maximum size must be positive");
+        this.maximumSize = maximumSize;
+        this.windowMaximum = Math.max(1, (int) (maximumSize * WINDOW_RATIO));
+        this.mainMaximum = maximumSize - windowMaximum;
+        this.protectedMaximum = (int) (mainMaximum * PROTECTED_RATIO);
+        this.window = new LinkedHashMap<>(16, 0.75f, true);
+        this.probation = new LinkedHashMap<>(16, 0.75f, true);
+        this.protectedSegment = new LinkedHashMap<>(16, 0.75f, true);
+        this.sampleSize = SAMPLE_MULTIPLIER * maximumSize;
+        this.sketch = new CountMinSketch<>(Math.max(64, Integer.highestOneBit(maximumSize) << 1), 4, false);
+        this.doorkeeper = new BloomFilterImpl<>(sampleSize, 0.01);
+    }
+
+    @Override
+    public V get(K key) {
+        Objects.requireNonNull(key);
+        recordAccess(key);
+        V value = lookup(key);
+        lastMiss = (value == null) ? key : null;
+        return value;
+    }
+
+    @Override
+    public void put(K key, V value) {
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(value);
+        if (!key.equals(lastMiss))
+            recordAccess(key);
+        lastMiss = null;
+        if (window.containsKey(key)) {
+            window.put(key, value);
+        } else if (protectedSegment.containsKey(key)) {
+            protectedSegment.put(key, value);
+        } else if (probation.containsKey(key)) {
+            probation.remove(key);
+            promote(key, value);
+        } else {
+            insert(key, value);
+        }
+    }
+
+    @Override
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(mappingFunction);
+        recordAccess(key);
+        lastMiss = null;
+        V value = lookup(key);
+        if (value == null) {
+            value = mappingFunction.apply(key);
+            if (value != null)
+                insert(key, value);
+        }
+        return value;
+    }
+
+    @Override
+    public V remove(K key) {
+        Objects.requireNonNull(key);
+        V value = window.remove(key);
+        if (value == null)
+            value = probation.remove(key);
+        if (value == null)
+            value = protectedSegment.remove(key);
+        return value;
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return window.containsKey(key) || probation.containsKey(key) || protectedSegment.containsKey(key);
+    }
+
+    private V lookup(K key) {
+        V value = window.get(key);
+        if (value == null)
+            value = protectedSegment.get(key);
+        if (value == null) {
+            value = probation.remove(key);
+            if (value != null)
+                promote(key, value);
+        }
+        return value;
+    }
+
+    private void promote(K key, V value) {
+        protectedSegment.put(key, value);
+        if (protectedSegment.size() > protectedMaximum) {
+            Iterator<Map.Entry<K, V>> iterator = protectedSegment.entrySet().iterator();
+            Map.Entry<K, V> eldest = iterator.next();
+            K demotedKey = eldest.getKey();
+            V demotedValue = eldest.getValue();
+            iterator.remove();
+            probation.put(demotedKey, demotedValue);
+        }
+    }
+
+    private void insert(K key, V value) {
+        window.put(key, value);
+        if (window.size() > windowMaximum) {
+            Iterator<Map.Entry<K, V>> iterator = window.entrySet().iterator();
+            Map.Entry<K, V> eldest = iterator.next();
+            K candidateKey = eldest.getKey();
+            V candidateValue = eldest.getValue();
+            iterator.remove();
+            admit(candidateKey, candidateValue);
+        }
+    }
+
+    private void admit(K key, V value) {
+        if (probation.size() + protectedSegment.size() < mainMaximum) {
+            probation.put(key, value);
+            return;
+        }
+        if (probation.isEmpty())
+            return;
+        K victim = probation.keySet().iterator().next();
+        if (frequency(key) > frequency(victim)) {
+            probation.remove(victim);
+            probation.put(key, value);
+        }
+    }
+
+    private void recordAccess(K key) {
+        if (doorkeeper.contains(key))
+            sketch.add(key);
+        else
+            doorkeeper.add(key);
+        if (++accesses >= sampleSize) {
+            sketch.halve();
+            doorkeeper.clear();
+            accesses = 0;
+        }
+    }
+
+    private long frequency(K key) {
+        return sketch.estimateCount(key) + (doorkeeper.contains(key) ? 1 : 0);
+    }
+
+    @Override
+    public int size() {
+        return window.size() + probation.size() + protectedSegment.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public void clear() {
+        window.clear();
+        probation.clear();
+        protectedSegment.clear();
+        sketch.clear();
+        doorkeeper.clear();
+        accesses = 0;
+        lastMiss = null;
+    }
+
+    @Override
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+}
@@ -0,0 +1,219 @@
+package implementations;
+
+import api.BloomFilter;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Objects;
+
+// Immutable xor filter (Graf and Lemire) for key sets known up front. Every key maps to one slot in each
+// of three segments, and construction assigns f bit fingerprints so that the three slots xor to the key's
+// fingerprint. The table holds about 1.23 * f bits per key and a lookup reads exactly three slots.
+// The filter can't be modified after it is built.
+public class XorFilter<E> implements BloomFilter<E> {
+
+    private static final int MAX_ATTEMPTS = 100;
+
+    private final long[] fingerprints;
+    private final int fingerprintBits;
+    private final long fingerprintMask;
+    private final int segmentLength;
+    private final int size;
+    private long seed;
+
+    public XorFilter(Collection<? extends E> elements, double desiredFalsePositiveRate) {
+        this(toKeys(elements), desiredFalsePositiveRate);
+    }
+
+    private XorFilter(long[] keys, double desiredFalsePositiveRate) {
+        if (desiredFalsePositiveRate <= 0 || desiredFalsePositiveRate >= 1)
+            throw new IllegalArgumentException("False positive rate must be between 0 and 1");
+        keys = distinct(keys);
+        size = keys.length;
+        fingerprintBits = (int) Math.min(32, Math.max(1, Math.ceil(-Math.log(desiredFalsePositiveRate) / Math.log(2))));
+        fingerprintMask = (1L << fingerprintBits) - 1;
+        long capacity = (long) Math.ceil(1.23 * keys.length) + 32;
+        segmentLength = (int) Math.min(Integer.MAX_VALUE / 3, capacity / 3);
+        fingerprints = new long[(int) (((long) 3 * segmentLength * fingerprintBits + Long.SIZE - 1) / Long.SIZE) + 1];
+        build(keys);
+    }
+
+    public static XorFilter<Long> ofLongs(long[] keys, double desiredFalsePositiveRate) {
+        Objects.requireNonNull(keys);
+        return new XorFilter<>(keys.clone(), desiredFalsePositiveRate);
+    }
+
+    private static long[] toKeys(Collection<?> elements) {
+        Objects.requireNonNull(elements);
+        long[] keys = new long[elements.size()];
+        int i = 0;
+        for (Object element : elements)
+            keys[i++] = Hashing.key(Objects.requireNonNull(element));
+        return keys;
+    }
+
+    // duplicate keys can never be peeled, so they are removed before construction
+    private static long[] distinct(long[] keys) {
+        Arrays.sort(keys);
+        int count = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (i == 0 || keys[i] != keys[i - 1])
+                keys[count++] = keys[i];
+        }
+        return (count == keys.length) ? keys : Arrays.copyOf(keys, count);
+    }
+
+    private void build(long[] keys) {
+        int slots = 3 * segmentLength;
+        int[] counts = new int[slots];
+        long[] xorHashes = new long[slots];
+        int[] queue = new int[slots];
+        long[] stackHashes = new long[keys.length];
+        int[] stackSlots = new int[keys.length];
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            seed = Hashing.fmix64(Hashing.DEFAULT_SEED + attempt);
+            Arrays.fill(counts, 0);
+            Arrays.fill(xorHashes, 0L);
+            for (long key : keys) {
+                long hash = Hashing.hash1(key, seed);
+                for (int segment = 0; segment < 3; segment++) {
+                    int slot = slot(hash, segment);
+                    counts[slot]++;
+                    xorHashes[slot] ^= hash;
+                }
+            }
+            // peel off slots used by a single key until none are left
+            int queueSize = 0;
+            for (int slot = 0; slot < slots; slot++) {
+                if (counts[slot] == 1)
+                    queue[queueSize++] = slot;
+            }
+            int stackSize = 0;
+            while (queueSize > 0) {
+                int slot = queue[--queueSize];
+                if (counts[slot] != 1)
+                    continue;
+                long hash = xorHashes[slot];
+                stackHashes[stackSize] = hash;
+                stackSlots[stackSize++] = slot;
+                for (int segment = 0; segment < 3; segment++) {
+                    int other = slot(hash, segment);
+                    counts[other]--;
+                    xorHashes[other] ^= hash;
+                    if (counts[other] == 1)
+                        queue[queueSize++] = other;
+                }
+            }
+            if (stackSize == keys.length) {
+                Arrays.fill(fingerprints, 0L);
+                // assign fingerprints in reverse peeling order, each slot is the last free one of its key
+                for (int i = stackSize - 1; i >= 0; i--) {
+                    long hash = stackHashes[i];
+                    long value = fingerprint(hash);
+                    for (int segment = 0; segment < 3; segment++) {
+                        int other = slot(hash, segment);
+                        if (other != stackSlots[i])
+                            value ^= read(other);
+                    }
+                    write(stackSlots[i], value);
+                }
+                return;
+            }
+        }
+        throw new IllegalStateException("Unable to construct the xor filter");
+    }
+
+    private int slot(long hash, int segment) {
+        long bits = Long.rotateLeft(hash, 21 * segment) & 0xFFFFFFFFL;
+        return (int) ((bits * segmentLength) >>> 32) + segment * segmentLength;
+    }
+
+    private long fingerprint(long hash) {
+        return (hash ^ (hash >>> 32)) & fingerprintMask;
+    }
+
+    private long read(int slot) {
+        long bit = (long) slot * fingerprintBits;
+        int word = (int) (bit >>> 6);
+        int offset = (int) (bit & 63);
+        long value = fingerprints[word] >>> offset;
+        if (offset + fingerprintBits > Long.SIZE)
+            value |= fingerprints[word + 1] << (Long.SIZE - offset);
+        return value & fingerprintMask;
+    }
+
+    private void write(int slot, long value) {
+        long bit = (long) slot * fingerprintBits;
+        int word = (int) (bit >>> 6);
+        int offset = (int) (bit & 63);
+        fingerprints[word] = (fingerprints[word] & ~(fingerprintMask << offset)) | (value << offset);
+        if (offset + fingerprintBits > Long.SIZE) {
+            int spill = Long.SIZE - offset;
+            fingerprints[word + 1] = (fingerprints[word + 1] & ~(fingerprintMask >>> spill)) | (value >>> spill);
+        }
+    }
+
+    // Queries a key already folded by Hashing.key. Not public, a raw long passed to a filter of any other
+    // element type would be answered for a key that was never hashed that way.
+    boolean containsKey(long key) {
+        long hash = Hashing.hash1(key, seed);
+        return fingerprint(hash) == (read(slot(hash, 0)) ^ read(slot(hash, 1)) ^ read(slot(hash, 2)));
+    }
+
+    @Override
+    public boolean contains(E element) {
+        Objects.requireNonNull(element);
+        return containsKey(Hashing.key(element));
+    }
+
+    @Override
+    public void add(E element) {
+        throw new UnsupportedOperationException("An xor filter can't be modified after it is built");
+    }
+
+    @Override
+    public void addAll(Collection<? extends E> collection) {
+        throw new UnsupportedOperationException("An xor filter can't be modified after it is built");
+    }
+
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException("An xor filter can't be modified after it is built");
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public double expectedFalsePositiveRate() {
+        return Math.pow(2, -fingerprintBits);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean containsAll(Collection<? extends E> collection) {
+        return collection.stream().allMatch(this::contains);
+    }
+
+    @Override
+    public int getMemoryFootprintEstimate() {
+        // returns the memory footprint of the fingerprint table in bytes
+        return (int) Math.min(Integer.MAX_VALUE, (long) fingerprints.length * Long.BYTES);
+    }
+
+    // every key is hashed once and the three slots are taken from different bits of that hash
+    @Override
+    public int getHashFunctionCount() {
+        return 1;
+    }
+
+    public int getFingerprintBits() {
+        return fingerprintBits;
+    }
+}
@@ -0,0 +1,83 @@
+import api.BloomFilter;
+import implementations.BlockedBloomFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+public class BlockedBloomFilterTests {
+
+    private BloomFilter<String> filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new BlockedBloomFilter<>(1_000_000, 1e-7);
+    }
+
+    @Test
+    void addTest() {
+        assertFalse(filter.contains("Brock"));
+        filter.add("Brock");
+        assertTrue(filter.contains("Brock"));
+        assertEquals(1, filter.size());
+    }
+
+    @Test
+    void containsAllTest() {
+        List<String> collection = List.of("Michael", "Jack", "Ashley", "Sydney", "Eric", "Peter");
+        filter.addAll(collection);
+        assertTrue(filter.containsAll(collection));
+        assertEquals(6, filter.size());
+    }
+
+    @Test
+    void clearTest() {
+        filter.addAll(List.of("Michael", "Jack", "Ashley", "Sydney"));
+        filter.clear();
+        assertTrue(filter.isEmpty());
+        assertFalse(filter.contains("Michael"));
+    }
+
+    @Test
+    void blockSizeTest() {
+        assertEquals(BlockedBloomFilter.DEFAULT_BLOCK_BITS, ((BlockedBloomFilter<String>) filter).getBlockBits());
+        assertEquals(256, new BlockedBloomFilter<>(1_000, 0.01, 256).getBlockBits());
+        assertThrows(IllegalArgumentException.class, () -> new BlockedBloomFilter<>(1_000, 0.01, 100));
+        assertThrows(IllegalArgumentException.class, () -> new BlockedBloomFilter<>(1_000, 0.01, 32));
+    }
+
+    @Test
+    void falsePositiveTest() {
+        assertMeetsConfiguredRate(200_000, 1e-4, BlockedBloomFilter.DEFAULT_BLOCK_BITS, 4_000_000);
+    }
+
+    @Test
+    void lowFalsePositiveTest() {
+        assertMeetsConfiguredRate(100_000, 1e-5, BlockedBloomFilter.DEFAULT_BLOCK_BITS, 10_000_000);
+    }
+
+    @Test
+    void smallBlockFalsePositiveTest() {
+        assertMeetsConfiguredRate(200_000, 1e-4, Long.SIZE, 4_000_000);
+    }
+
+    // the measured rate at capacity must stay at the configured rate, allowing for sampling noise, and
+    // agree with the filter's own estimate
+    private void assertMeetsConfiguredRate(int elements, double rate, int blockBits, int queries) {
+        BlockedBloomFilter<Integer> bloomFilter = new BlockedBloomFilter<>(elements, rate, blockBits);
+        for (int i = 0; i < elements; i++)
+            bloomFilter.add(i);
+        int falsePositives = 0;
+        for (int i = elements; i < elements + queries; i++) {
+            if (bloomFilter.contains(i))
+                falsePositives++;
+        }
+        double measuredRate = (double) falsePositives / queries;
+        double expectedRate = bloomFilter.expectedFalsePositiveRate();
+        assertTrue(expectedRate <= rate, "estimated false positive rate " + expectedRate);
+        assertTrue(measuredRate < 1.3 * rate, "measured false positive rate " + measuredRate);
+        assertEquals(expectedRate, measuredRate, 0.3 * expectedRate);
+    }
+}
@@ -1,4 +1,5 @@
 import api.BloomFilter;
+import api.BloomFilterStatistics;
 import implementations.BloomFilterImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -6,8 +7,18 @@ import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.text.DecimalFormat;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 public class BloomFilterTests {
 
@@ -73,4 +84,190 @@ public class BloomFilterTests {
         double actualFalsePositive = Double.parseDouble(format.format(bloomFilter.expectedFalsePositiveRate()));
         assertEquals(1e-7, actualFalsePositive);
     }
+
+    @Test
+    void measuredFalsePositiveTest() {
+        BloomFilter<Integer> bloomFilter = new BloomFilterImpl<>(100_000, 0.01);
+        for (int i = 0; i < 100_000; i++)
+            bloomFilter.add(i);
+        int falsePositives = 0;
+        for (int i = 100_000; i < 1_100_000; i++) {
+            if (bloomFilter.contains(i))
+                falsePositives++;
+        }
+        double measuredRate = falsePositives / 1_000_000.0;
+        assertTrue(measuredRate < 0.0125, "measured false positive rate " + measuredRate);
+        assertTrue(measuredRate > 0.0075, "measured false positive rate " + measuredRate);
+    }
+
+    @Test
+    void distinctProbesTest() {
+        BloomFilter<String> bloomFilter = new BloomFilterImpl<>(1_000, 0.01);
+        bloomFilter.add("Brock");
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (bloomFilter.contains("Key" + i))
+                falsePositives++;
+        }
+        assertEquals(0, falsePositives);
+    }
+
+    @Test
+    void unionTest() {
+        BloomFilterImpl<String> first = new BloomFilterImpl<>(1_000, 0.01);
+        BloomFilterImpl<String> second = new BloomFilterImpl<>(1_000, 0.01);
+        first.addAll(List.of("Brock", "Steve"));
+        second.addAll(List.of("Bill", "Kate"));
+        first.union(second);
+        assertTrue(first.containsAll(List.of("Brock", "Steve", "Bill", "Kate")));
+        assertEquals(4, first.size());
+    }
+
+    @Test
+    void intersectTest() {
+        BloomFilterImpl<String> first = new BloomFilterImpl<>(1_000, 0.01);
+        BloomFilterImpl<String> second = new BloomFilterImpl<>(1_000, 0.01);
+        first.addAll(List.of("Brock", "Steve", "Kim"));
+        second.addAll(List.of("Bill", "Kate", "Kim"));
+        first.intersect(second);
+        assertTrue(first.contains("Kim"));
+        assertFalse(first.contains("Brock"));
+        assertFalse(first.contains("Kate"));
+    }
+
+    @Test
+    void incompatibleGeometryTest() {
+        BloomFilterImpl<String> first = new BloomFilterImpl<>(1_000, 0.01);
+        assertThrows(IllegalArgumentException.class, () -> first.union(new BloomFilterImpl<>(2_000, 0.01)));
+        assertThrows(IllegalArgumentException.class, () -> first.intersect(new BloomFilterImpl<>(1_000, 0.001)));
+    }
+
+    @Test
+    void parallelBuildTest() {
+        List<Integer> keys = new ArrayList<>();
+        for (int i = 0; i < 500_000; i++)
+            keys.add(i);
+        BloomFilterImpl<Integer> parallel = new BloomFilterImpl<>(500_000, 0.001);
+        parallel.parallelBuild(keys.spliterator());
+        BloomFilterImpl<Integer> sequential = new BloomFilterImpl<>(500_000, 0.001);
+        sequential.addAll(keys);
+        assertEquals(500_000, parallel.size());
+        for (int i = 0; i < 500_000; i++)
+            assertTrue(parallel.contains(i));
+        for (int i = 500_000; i < 600_000; i++)
+            assertEquals(sequential.contains(i), parallel.contains(i));
+    }
+
+    @Test
+    void unsizedParallelBuildTest() {
+        AtomicInteger splits = new AtomicInteger();
+        Spliterator<Integer> source = new CountingSpliterator<>(Spliterators.spliteratorUnknownSize(Stream.iterate(0, i -> i + 1).limit(500_000).iterator(), 0), splits);
+        assertEquals(Long.MAX_VALUE, source.estimateSize());
+        BloomFilterImpl<Integer> parallel = new BloomFilterImpl<>(500_000, 0.001);
+        parallel.parallelBuild(source);
+        assertEquals(500_000, parallel.size());
+        for (int i = 0; i < 500_000; i++)
+            assertTrue(parallel.contains(i));
+        // every split adds one chunk, and every chunk allocates a filter of its own
+        assertTrue(splits.get() + 1 <= 4 * ForkJoinPool.getCommonPoolParallelism());
+    }
+
+    private static class CountingSpliterator<T> implements Spliterator<T> {
+
+        private final Spliterator<T> source;
+        private final AtomicInteger splits;
+
+        CountingSpliterator(Spliterator<T> source, AtomicInteger splits) {
+            this.source = source;
+            this.splits = splits;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            return source.tryAdvance(action);
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            Spliterator<T> prefix = source.trySplit();
+            if (prefix == null)
+                return null;
+            splits.incrementAndGet();
+            return new CountingSpliterator<>(prefix, splits);
+        }
+
+        @Override
+        public long estimateSize() {
+            return source.estimateSize();
+        }
+
+        @Override
+        public int characteristics() {
+            return source.characteristics();
+        }
+    }
+
+    @Test
+    void statisticsTest() {
+        BloomFilterImpl<Integer> bloomFilter = new BloomFilterImpl<>(100_000, 0.01);
+        bloomFilter.setQueryStatisticsEnabled(true);
+        for (int i = 0; i < 50_000; i++) {
+            bloomFilter.add(i);
+            bloomFilter.add(i);
+        }
+        for (int i = 0; i < 1_000; i++)
+            bloomFilter.contains(i);
+        BloomFilterStatistics statistics = bloomFilter.statistics();
+        assertEquals(100_000, statistics.getInsertCount());
+        assertEquals(50_000, statistics.getEstimatedDistinctCount(), 1_000);
+        assertEquals(1_000, statistics.getQueryCount());
+        assertEquals(1_000, statistics.getPositiveCount());
+        assertEquals(1.0, statistics.getPositiveRate());
+        assertTrue(statistics.getFillRatio() > 0.25 && statistics.getFillRatio() < 0.35);
+        assertTrue(statistics.getEstimatedFalsePositiveRate() < bloomFilter.expectedFalsePositiveRate());
+    }
+
+    @Test
+    void emptyStatisticsTest() {
+        BloomFilterStatistics statistics = new BloomFilterImpl<String>(1_000, 0.01).statistics();
+        assertEquals(0, statistics.getSetBitCount());
+        assertEquals(0.0, statistics.getEstimatedDistinctCount());
+        assertEquals(0.0, statistics.getEstimatedFalsePositiveRate());
+        assertEquals(0.0, statistics.getPositiveRate());
+    }
+
+    @Test
+    void queryStatisticsDisabledTest() {
+        BloomFilterImpl<Integer> bloomFilter = new BloomFilterImpl<>(1_000, 0.01);
+        assertFalse(bloomFilter.isQueryStatisticsEnabled());
+        bloomFilter.add(1);
+        assertTrue(bloomFilter.contains(1));
+        assertFalse(bloomFilter.contains(2));
+        assertEquals(0, bloomFilter.statistics().getQueryCount());
+        assertEquals(0, bloomFilter.statistics().getPositiveCount());
+    }
+
+    @Test
+    void concurrentQueryStatisticsTest() throws Exception {
+        BloomFilterImpl<Integer> bloomFilter = new BloomFilterImpl<>(10_000, 0.01);
+        bloomFilter.setQueryStatisticsEnabled(true);
+        for (int i = 0; i < 10_000; i++)
+            bloomFilter.add(i);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++)
+                        bloomFilter.contains(i);
+                }));
+            }
+            for (Future<?> future : futures)
+                future.get();
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(40_000, bloomFilter.statistics().getQueryCount());
+        assertEquals(40_000, bloomFilter.statistics().getPositiveCount());
+    }
 }
@@ -0,0 +1,70 @@
+import api.BloomFilter;
+import implementations.ConcurrentBloomFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class ConcurrentBloomFilterTests {
+
+    private BloomFilter<String> filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new ConcurrentBloomFilter<>(1_000_000, 1e-7);
+    }
+
+    @Test
+    void addTest() {
+        assertFalse(filter.contains("Brock"));
+        filter.add("Brock");
+        assertTrue(filter.contains("Brock"));
+        assertEquals(1, filter.size());
+    }
+
+    @Test
+    void clearTest() {
+        filter.addAll(List.of("Michael", "Jack", "Ashley", "Sydney"));
+        assertEquals(4, filter.size());
+        filter.clear();
+        assertTrue(filter.isEmpty());
+        assertFalse(filter.contains("Michael"));
+    }
+
+    @Test
+    void concurrentAddTest() throws Exception {
+        BloomFilter<Integer> concurrentFilter = new ConcurrentBloomFilter<>(800_000, 0.001);
+        int threads = 8;
+        int perThread = 100_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int start = t * perThread;
+                futures.add(executor.submit(() -> {
+                    for (int i = start; i < start + perThread; i++)
+                        concurrentFilter.add(i);
+                }));
+            }
+            for (Future<?> future : futures)
+                future.get();
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(threads * perThread, concurrentFilter.size());
+        for (int i = 0; i < threads * perThread; i++)
+            assertTrue(concurrentFilter.contains(i));
+        int falsePositives = 0;
+        for (int i = threads * perThread; i < threads * perThread + 100_000; i++) {
+            if (concurrentFilter.contains(i))
+                falsePositives++;
+        }
+        assertTrue(falsePositives / 100_000.0 < 0.002);
+    }
+}
@@ -0,0 +1,192 @@
+import api.SkipList;
+import implementations.ConcurrentSkipListImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ConcurrentSkipListTests {
+
+    private SkipList<String> skipList;
+
+    @BeforeEach
+    void setUp() {
+        skipList = new ConcurrentSkipListImpl<>();
+        skipList.addAll(List.of("Ben", "Katy", "Evan", "Jessica", "Bob", "Ashley"));
+    }
+
+    @Test
+    void addTest() {
+        assertEquals(6, skipList.size());
+        assertTrue(skipList.add("Brock"));
+        assertFalse(skipList.add("Katy"));
+        assertEquals(7, skipList.size());
+        assertTrue(skipList.contains("Brock"));
+        assertFalse(skipList.contains("Dylan"));
+    }
+
+    @Test
+    void removeTest() {
+        assertTrue(skipList.remove("Ben"));
+        assertFalse(skipList.remove("Ben"));
+        assertFalse(skipList.contains("Ben"));
+        assertEquals(5, skipList.size());
+        assertTrue(skipList.removeAll(List.of("Katy", "Evan", "Jessica", "Bob", "Ashley")));
+        assertTrue(skipList.isEmpty());
+    }
+
+    @Test
+    void orderTest() {
+        assertArrayEquals(new String[]{"Ashley", "Ben", "Bob", "Evan", "Jessica", "Katy"}, skipList.toArray(new String[0]));
+        SkipList<String> reversed = new ConcurrentSkipListImpl<>(Comparator.<String>reverseOrder());
+        reversed.addAll(List.of("Ben", "Katy", "Evan"));
+        assertArrayEquals(new Object[]{"Katy", "Evan", "Ben"}, reversed.toArray());
+    }
+
+    @Test
+    void clearTest() {
+        skipList.clear();
+        assertTrue(skipList.isEmpty());
+        assertFalse(skipList.iterator().hasNext());
+        assertTrue(skipList.add("Ben"));
+        assertTrue(skipList.contains("Ben"));
+    }
+
+    @RepeatedTest(5)
+    void concurrentAddTest() throws Exception {
+        SkipList<Integer> integerSkipList = new ConcurrentSkipListImpl<>();
+        Set<Integer> expected = new ConcurrentSkipListSet<>();
+        AtomicInteger successfulAdds = new AtomicInteger();
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                long seed = t;
+                futures.add(executor.submit(() -> {
+                    Random random = new Random(seed);
+                    start.await();
+                    for (int i = 0; i < 20_000; i++) {
+                        int value = random.nextInt(50_000);
+                        expected.add(value);
+                        if (integerSkipList.add(value))
+                            successfulAdds.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures)
+                future.get();
+        } finally {
+            executor.shutdown();
+        }
+        // every distinct value is added successfully by exactly one thread
+        assertEquals(expected.size(), successfulAdds.get());
+        assertEquals(expected.size(), integerSkipList.size());
+        assertArrayEquals(expected.toArray(), integerSkipList.toArray());
+    }
+
+    @RepeatedTest(5)
+    void concurrentAddRemoveTest() throws Exception {
+        SkipList<Integer> integerSkipList = new ConcurrentSkipListImpl<>();
+        for (int i = 0; i < 10_000; i++)
+            integerSkipList.add(i);
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            // each thread owns the values congruent to its index, so the final contents are known
+            for (int t = 0; t < threads; t++) {
+                int owner = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int round = 0; round < 5; round++) {
+                        for (int i = owner; i < 10_000; i += threads)
+                            assertTrue(integerSkipList.remove(i));
+                        for (int i = owner; i < 10_000; i += threads)
+                            assertTrue(integerSkipList.add(i));
+                    }
+                    for (int i = owner; i < 10_000; i += 2 * threads)
+                        assertTrue(integerSkipList.remove(i));
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures)
+                future.get();
+        } finally {
+            executor.shutdown();
+        }
+        int expectedSize = 0;
+        for (int i = 0; i < 10_000; i++) {
+            boolean expected = (i % (2 * threads)) >= threads;
+            assertEquals(expected, integerSkipList.contains(i));
+            if (expected)
+                expectedSize++;
+        }
+        assertEquals(expectedSize, integerSkipList.size());
+        Object[] array = integerSkipList.toArray();
+        assertEquals(expectedSize, array.length);
+        for (int i = 1; i < array.length; i++)
+            assertTrue((Integer) array[i - 1] < (Integer) array[i]);
+    }
+
+    @Test
+    void concurrentSizeTest() throws Exception {
+        SkipList<Integer> integerSkipList = new ConcurrentSkipListImpl<>();
+        int threads = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(threads + 1);
+        AtomicInteger minimumSize = new AtomicInteger();
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            CountDownLatch done = new CountDownLatch(threads);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    // adds and removes race on a handful of keys
+                    for (int i = 0; i < 50_000; i++) {
+                        integerSkipList.add(i % 4);
+                        integerSkipList.remove(i % 4);
+                    }
+                    done.countDown();
+                    return null;
+                }));
+            }
+            futures.add(executor.submit(() -> {
+                start.await();
+                while (done.getCount() > 0)
+                    minimumSize.accumulateAndGet(integerSkipList.size(), Math::min);
+                return null;
+            }));
+            start.countDown();
+            for (Future<?> future : futures)
+                future.get();
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(0, minimumSize.get());
+        assertEquals(0, integerSkipList.size());
+    }
+
+    @Test
+    void heightTest() {
+        SkipList<Integer> integerSkipList = new ConcurrentSkipListImpl<>();
+        for (int i = 0; i < 80_000; i++)
+            integerSkipList.add(i);
+        assertTrue(integerSkipList.getHeight() >= 12);
+        assertTrue(integerSkipList.getHeight() <= ConcurrentSkipListImpl.MAX_HEIGHT);
+    }
+}
@@ -0,0 +1,110 @@
+import api.FrequencySketch;
+import implementations.CountMinSketch;
+import implementations.HeavyHitterTracker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+public class CountMinSketchTests {
+
+    private FrequencySketch<String> sketch;
+
+    @BeforeEach
+    void setUp() {
+        sketch = new CountMinSketch<>(0.001, 0.01);
+    }
+
+    @Test
+    void addTest() {
+        assertEquals(0, sketch.estimateCount("Brock"));
+        sketch.add("Brock");
+        sketch.add("Brock");
+        sketch.add("Kate", 5);
+        assertEquals(2, sketch.estimateCount("Brock"));
+        assertEquals(5, sketch.estimateCount("Kate"));
+        assertEquals(7, sketch.totalCount());
+        assertThrows(IllegalArgumentException.class, () -> sketch.add("Kate", -1));
+    }
+
+    @Test
+    void errorBoundTest() {
+        for (boolean conservative : new boolean[] {false, true}) {
+            CountMinSketch<Integer> integerSketch = new CountMinSketch<>(0.001, 0.01, conservative);
+            Map<Integer, Integer> actual = new HashMap<>();
+            Random random = new Random(41);
+            for (int i = 0; i < 200_000; i++) {
+                int key = (int) Math.abs(random.nextGaussian() * 1_000);
+                integerSketch.add(key);
+                actual.merge(key, 1, Integer::sum);
+            }
+            for (Map.Entry<Integer, Integer> entry : actual.entrySet()) {
+                long estimate = integerSketch.estimateCount(entry.getKey());
+                assertTrue(estimate >= entry.getValue());
+                assertTrue(estimate <= entry.getValue() + 0.001 * integerSketch.totalCount());
+            }
+        }
+    }
+
+    @Test
+    void conservativeUpdateTest() {
+        CountMinSketch<Integer> plain = new CountMinSketch<>(64, 4, false);
+        CountMinSketch<Integer> conservative = new CountMinSketch<>(64, 4, true);
+        for (int i = 0; i < 10_000; i++) {
+            plain.add(i % 500);
+            conservative.add(i % 500);
+        }
+        long plainError = 0;
+        long conservativeError = 0;
+        for (int i = 0; i < 500; i++) {
+            plainError += plain.estimateCount(i) - 20;
+            conservativeError += conservative.estimateCount(i) - 20;
+        }
+        assertTrue(conservativeError < plainError);
+    }
+
+    @Test
+    void mergeTest() {
+        FrequencySketch<String> other = new CountMinSketch<>(0.001, 0.01);
+        sketch.add("Brock", 3);
+        other.add("Brock", 4);
+        other.add("Kate");
+        sketch.merge(other);
+        assertEquals(7, sketch.estimateCount("Brock"));
+        assertEquals(1, sketch.estimateCount("Kate"));
+        assertEquals(8, sketch.totalCount());
+        assertThrows(IllegalArgumentException.class, () -> sketch.merge(new CountMinSketch<>(0.01, 0.01)));
+    }
+
+    @Test
+    void clearTest() {
+        sketch.add("Brock", 3);
+        sketch.clear();
+        assertEquals(0, sketch.estimateCount("Brock"));
+        assertEquals(0, sketch.totalCount());
+    }
+
+    @Test
+    void heavyHitterTest() {
+        HeavyHitterTracker<Integer> tracker = new HeavyHitterTracker<>(3, new CountMinSketch<>(0.001, 0.01, true));
+        Random random = new Random(43);
+        for (int i = 0; i < 100_000; i++) {
+            int roll = random.nextInt(100);
+            if (roll < 20)
+                tracker.add(7);
+            else if (roll < 35)
+                tracker.add(13);
+            else if (roll < 45)
+                tracker.add(42);
+            else
+                tracker.add(1_000 + random.nextInt(10_000));
+        }
+        assertEquals(List.of(7, 13, 42), tracker.topK());
+        assertTrue(tracker.estimateCount(7) > tracker.estimateCount(13));
+    }
+}
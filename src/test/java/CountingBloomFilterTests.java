@@ -0,0 +1,80 @@
+import api.BloomFilter;
+import api.RemovableBloomFilter;
+import implementations.BloomFilterImpl;
+import implementations.CountingBloomFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+public class CountingBloomFilterTests {
+
+    private RemovableBloomFilter<String> filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new CountingBloomFilter<>(100_000, 1e-4);
+    }
+
+    @Test
+    void addTest() {
+        assertFalse(filter.contains("Brock"));
+        filter.add("Brock");
+        assertTrue(filter.contains("Brock"));
+        assertEquals(1, filter.size());
+    }
+
+    @Test
+    void removeTest() {
+        filter.addAll(List.of("Michael", "Jack", "Ashley"));
+        assertTrue(filter.remove("Jack"));
+        assertFalse(filter.contains("Jack"));
+        assertTrue(filter.contains("Michael"));
+        assertTrue(filter.contains("Ashley"));
+        assertEquals(2, filter.size());
+        assertFalse(filter.remove("Jack"));
+        assertFalse(filter.remove("Brock"));
+        assertEquals(2, filter.size());
+    }
+
+    @Test
+    void duplicateRemoveTest() {
+        filter.add("Brock");
+        filter.add("Brock");
+        assertTrue(filter.remove("Brock"));
+        assertTrue(filter.contains("Brock"));
+        assertTrue(filter.remove("Brock"));
+        assertFalse(filter.contains("Brock"));
+        assertTrue(filter.isEmpty());
+    }
+
+    @Test
+    void saturationTest() {
+        for (int i = 0; i < 20; i++)
+            filter.add("Brock");
+        for (int i = 0; i < 20; i++)
+            filter.remove("Brock");
+        // saturated counters stick, so the element is never reported absent after overflow
+        assertTrue(filter.contains("Brock"));
+    }
+
+    @Test
+    void removeKeepsOthersTest() {
+        RemovableBloomFilter<Integer> integerFilter = new CountingBloomFilter<>(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++)
+            integerFilter.add(i);
+        for (int i = 0; i < 10_000; i += 2)
+            assertTrue(integerFilter.remove(i));
+        for (int i = 1; i < 10_000; i += 2)
+            assertTrue(integerFilter.contains(i));
+        assertEquals(5_000, integerFilter.size());
+    }
+
+    @Test
+    void memoryTest() {
+        BloomFilter<String> bitFilter = new BloomFilterImpl<>(100_000, 1e-4);
+        assertTrue(filter.getMemoryFootprintEstimate() <= 4 * bitFilter.getMemoryFootprintEstimate() + Long.BYTES);
+    }
+}
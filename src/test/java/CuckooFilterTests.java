@@ -0,0 +1,99 @@
+import api.BloomFilter;
+import api.RemovableBloomFilter;
+import implementations.BloomFilterImpl;
+import implementations.CuckooFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+public class CuckooFilterTests {
+
+    private RemovableBloomFilter<String> filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new CuckooFilter<>(100_000, 1e-4);
+    }
+
+    @Test
+    void addTest() {
+        assertFalse(filter.contains("Brock"));
+        filter.add("Brock");
+        assertTrue(filter.contains("Brock"));
+        assertEquals(1, filter.size());
+    }
+
+    @Test
+    void removeTest() {
+        filter.addAll(List.of("Michael", "Jack", "Ashley"));
+        assertTrue(filter.remove("Jack"));
+        assertFalse(filter.contains("Jack"));
+        assertTrue(filter.containsAll(List.of("Michael", "Ashley")));
+        assertFalse(filter.remove("Brock"));
+        assertEquals(2, filter.size());
+    }
+
+    @Test
+    void clearTest() {
+        filter.addAll(List.of("Michael", "Jack", "Ashley", "Sydney"));
+        filter.clear();
+        assertTrue(filter.isEmpty());
+        assertFalse(filter.contains("Michael"));
+    }
+
+    @Test
+    void fullLoadTest() {
+        RemovableBloomFilter<Integer> integerFilter = new CuckooFilter<>(100_000, 0.001);
+        for (int i = 0; i < 100_000; i++)
+            integerFilter.add(i);
+        for (int i = 0; i < 100_000; i++)
+            assertTrue(integerFilter.contains(i));
+        for (int i = 0; i < 100_000; i += 2)
+            assertTrue(integerFilter.remove(i));
+        for (int i = 1; i < 100_000; i += 2)
+            assertTrue(integerFilter.contains(i));
+    }
+
+    @Test
+    void overflowTest() {
+        BloomFilter<Integer> tiny = new CuckooFilter<>(8, 0.01);
+        assertThrows(IllegalStateException.class, () -> {
+            for (int i = 0; i < 1_000; i++)
+                tiny.add(i);
+        });
+    }
+
+    @Test
+    void falsePositiveTest() {
+        BloomFilter<Integer> integerFilter = new CuckooFilter<>(100_000, 0.001);
+        for (int i = 0; i < 100_000; i++)
+            integerFilter.add(i);
+        int falsePositives = 0;
+        for (int i = 100_000; i < 1_100_000; i++) {
+            if (integerFilter.contains(i))
+                falsePositives++;
+        }
+        assertTrue(falsePositives / 1_000_000.0 < 0.0015);
+    }
+
+    @Test
+    void wideFingerprintTest() {
+        CuckooFilter<Integer> integerFilter = new CuckooFilter<>(10_000, 1e-9);
+        assertEquals(32, integerFilter.getFingerprintBits());
+        for (int i = 0; i < 10_000; i++)
+            integerFilter.add(i);
+        for (int i = 0; i < 10_000; i++)
+            assertTrue(integerFilter.contains(i));
+    }
+
+    @Test
+    void memoryTest() {
+        // with four slot buckets the cuckoo filter is smaller than a bloom filter once the rate drops under ~0.4%
+        assertTrue(new CuckooFilter<>(1_000_000, 1e-3).getMemoryFootprintEstimate() < new BloomFilterImpl<>(1_000_000, 1e-3).getMemoryFootprintEstimate());
+        assertTrue(new CuckooFilter<>(1_000_000, 1e-6).getMemoryFootprintEstimate() < new BloomFilterImpl<>(1_000_000, 1e-6).getMemoryFootprintEstimate());
+        assertTrue(new CuckooFilter<>(1_000_000, 1e-2).getMemoryFootprintEstimate() > new BloomFilterImpl<>(1_000_000, 1e-2).getMemoryFootprintEstimate());
+    }
+}
@@ -0,0 +1,114 @@
+import api.CardinalityEstimator;
+import implementations.BloomFilterImpl;
+import implementations.BloomFilterSizing;
+import implementations.HyperLogLog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+public class HyperLogLogTests {
+
+    private HyperLogLog<Integer> sketch;
+
+    @BeforeEach
+    void setUp() {
+        sketch = new HyperLogLog<>(14);
+    }
+
+    @Test
+    void emptyTest() {
+        assertTrue(sketch.isEmpty());
+        assertEquals(0, sketch.estimate());
+        assertTrue(sketch.isSparse());
+    }
+
+    @Test
+    void sparseTest() {
+        for (int i = 0; i < 1_000; i++) {
+            sketch.add(i);
+            sketch.add(i);
+        }
+        assertTrue(sketch.isSparse());
+        assertEquals(1_000, sketch.estimate(), 5);
+    }
+
+    @Test
+    void denseTest() {
+        for (int i = 0; i < 1_000_000; i++)
+            sketch.add(i);
+        assertFalse(sketch.isSparse());
+        assertEquals(1 << 14, sketch.getMemoryFootprintEstimate());
+        assertEquals(1_000_000, sketch.estimate(), 1_000_000 * 3 * sketch.relativeStandardError());
+    }
+
+    @Test
+    void transitionTest() {
+        for (int i = 0; i < 20_000; i++) {
+            sketch.add(i);
+            if (i % 1_000 == 999)
+                assertEquals(i + 1, sketch.estimate(), (i + 1) * 0.05);
+        }
+        assertFalse(sketch.isSparse());
+    }
+
+    @Test
+    void mergeTest() {
+        HyperLogLog<Integer> other = new HyperLogLog<>(14);
+        HyperLogLog<Integer> small = new HyperLogLog<>(14);
+        for (int i = 0; i < 300_000; i++)
+            sketch.add(i);
+        for (int i = 200_000; i < 600_000; i++)
+            other.add(i);
+        for (int i = 0; i < 100; i++)
+            small.add(-i - 1);
+        sketch.merge(other);
+        assertEquals(600_000, sketch.estimate(), 600_000 * 3 * sketch.relativeStandardError());
+        small.merge(sketch);
+        assertEquals(600_100, small.estimate(), 600_100 * 3 * small.relativeStandardError());
+        assertThrows(IllegalArgumentException.class, () -> sketch.merge(new HyperLogLog<>(12)));
+    }
+
+    @Test
+    void sparseMergeTest() {
+        HyperLogLog<Integer> other = new HyperLogLog<>(14);
+        for (int i = 0; i < 500; i++)
+            sketch.add(i);
+        for (int i = 250; i < 750; i++)
+            other.add(i);
+        sketch.merge(other);
+        assertTrue(sketch.isSparse());
+        assertEquals(750, sketch.estimate(), 5);
+    }
+
+    @Test
+    void clearTest() {
+        for (int i = 0; i < 100_000; i++)
+            sketch.add(i);
+        sketch.clear();
+        assertTrue(sketch.isEmpty());
+        assertEquals(0, sketch.estimate());
+    }
+
+    @Test
+    void sizingTest() {
+        CardinalityEstimator<String> names = new HyperLogLog<>();
+        for (String name : List.of("Brock", "Steve", "Bill", "Kate", "Brock", "Kate"))
+            names.add(name);
+        BloomFilterSizing exact = BloomFilterSizing.forSketch(names, 0.01, 0);
+        assertEquals(4, exact.getExpectedElementCount());
+        BloomFilterSizing thousand = BloomFilterSizing.forElementCount(1_000, 0.01);
+        assertEquals(9586, thousand.getBitCount());
+        assertEquals(7, thousand.getHashFunctionCount());
+
+        for (int i = 0; i < 100_000; i++)
+            sketch.add(i % 50_000);
+        BloomFilterSizing sizing = BloomFilterSizing.forSketch(sketch, 0.01);
+        assertTrue(sizing.getExpectedElementCount() >= 50_000);
+        assertTrue(sizing.getExpectedElementCount() < 55_000);
+        BloomFilterImpl<Integer> filter = new BloomFilterImpl<>(sizing.getExpectedElementCount(), sizing.getFalsePositiveRate());
+        assertEquals(sizing.getHashFunctionCount(), filter.getHashFunctionCount());
+    }
+}
@@ -0,0 +1,122 @@
+import implementations.MappedBloomFilter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.DayOfWeek;
+import java.util.List;
+
+public class MappedBloomFilterTests {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void addTest() throws IOException {
+        try (MappedBloomFilter<String> filter = MappedBloomFilter.create(directory.resolve("filter.bf"), 10_000, 0.001)) {
+            assertFalse(filter.contains("Brock"));
+            filter.add("Brock");
+            assertTrue(filter.contains("Brock"));
+            assertEquals(1, filter.size());
+        }
+    }
+
+    @Test
+    void reopenTest() throws IOException {
+        Path file = directory.resolve("filter.bf");
+        List<String> names = List.of("Michael", "Jack", "Ashley", "Sydney", "Eric", "Peter");
+        int hashCount;
+        try (MappedBloomFilter<String> filter = MappedBloomFilter.create(file, 10_000, 0.001)) {
+            filter.addAll(names);
+            hashCount = filter.getHashFunctionCount();
+        }
+        try (MappedBloomFilter<String> filter = MappedBloomFilter.openReadOnly(file)) {
+            assertTrue(filter.containsAll(names));
+            assertFalse(filter.contains("Brock"));
+            assertEquals(names.size(), filter.size());
+            assertEquals(hashCount, filter.getHashFunctionCount());
+            assertThrows(UnsupportedOperationException.class, () -> filter.add("Brock"));
+        }
+    }
+
+    @Test
+    void flushTest() throws IOException {
+        Path file = directory.resolve("filter.bf");
+        MappedBloomFilter<Integer> writer = MappedBloomFilter.create(file, 10_000, 0.01);
+        for (int i = 0; i < 1_000; i++)
+            writer.add(i);
+        writer.flush();
+        try (MappedBloomFilter<Integer> reader = MappedBloomFilter.openReadOnly(file)) {
+            assertEquals(1_000, reader.size());
+            for (int i = 0; i < 1_000; i++)
+                assertTrue(reader.contains(i));
+        }
+        writer.close();
+    }
+
+    @Test
+    void createExistingFileTest() throws IOException {
+        Path file = directory.resolve("filter.bf");
+        MappedBloomFilter.create(file, 100, 0.01).close();
+        assertThrows(IOException.class, () -> MappedBloomFilter.create(file, 100, 0.01));
+    }
+
+    @Test
+    void invalidFileTest() throws IOException {
+        Path file = directory.resolve("not-a-filter.bf");
+        Files.write(file, new byte[128]);
+        assertThrows(IOException.class, () -> MappedBloomFilter.open(file));
+
+        Path truncated = directory.resolve("truncated.bf");
+        MappedBloomFilter.create(truncated, 10_000, 0.01).close();
+        try (FileChannel channel = FileChannel.open(truncated, StandardOpenOption.WRITE)) {
+            channel.truncate(256);
+        }
+        assertThrows(IOException.class, () -> MappedBloomFilter.open(truncated));
+    }
+
+    @Test
+    void headerTest() throws IOException {
+        Path file = directory.resolve("filter.bf");
+        long bitCount;
+        try (MappedBloomFilter<String> filter = MappedBloomFilter.create(file, 10_000, 0.01)) {
+            filter.add("Brock");
+            bitCount = filter.getBitCount();
+        }
+        ByteBuffer header = ByteBuffer.wrap(Files.readAllBytes(file)).order(ByteOrder.LITTLE_ENDIAN);
+        assertEquals(MappedBloomFilter.MAGIC, header.getInt(0));
+        assertEquals(MappedBloomFilter.VERSION, header.getInt(4));
+        assertEquals(MappedBloomFilter.HASH_SCHEME, header.getInt(12));
+        assertEquals(bitCount, header.getLong(16));
+        assertEquals(1L, header.getLong(32));
+    }
+
+    @Test
+    void hashSchemeMismatchTest() throws IOException {
+        Path file = directory.resolve("filter.bf");
+        MappedBloomFilter.create(file, 1_000, 0.01).close();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            ByteBuffer scheme = ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            scheme.putInt(0, MappedBloomFilter.HASH_SCHEME + 1);
+            channel.write(scheme, 12);
+        }
+        assertThrows(IOException.class, () -> MappedBloomFilter.open(file));
+        assertThrows(IOException.class, () -> MappedBloomFilter.openReadOnly(file));
+    }
+
+    @Test
+    void enumElementTest() throws IOException {
+        try (MappedBloomFilter<DayOfWeek> filter = MappedBloomFilter.create(directory.resolve("days.bf"), 100, 0.01)) {
+            assertThrows(IllegalArgumentException.class, () -> filter.add(DayOfWeek.MONDAY));
+            assertThrows(IllegalArgumentException.class, () -> filter.contains(DayOfWeek.MONDAY));
+        }
+    }
+}
@@ -0,0 +1,74 @@
+import api.BloomFilter;
+import implementations.OffHeapBloomFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+public class OffHeapBloomFilterTests {
+
+    private BloomFilter<String> filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new OffHeapBloomFilter<>(1_000_000, 1e-7);
+    }
+
+    @Test
+    void addTest() {
+        assertFalse(filter.contains("Brock"));
+        filter.add("Brock");
+        assertTrue(filter.contains("Brock"));
+        assertEquals(1, filter.size());
+    }
+
+    @Test
+    void containsAllTest() {
+        List<String> collection = List.of("Michael", "Jack", "Ashley", "Sydney", "Eric", "Peter");
+        filter.addAll(collection);
+        assertTrue(filter.containsAll(collection));
+    }
+
+    @Test
+    void clearTest() {
+        filter.addAll(List.of("Michael", "Jack", "Ashley", "Sydney"));
+        filter.clear();
+        assertTrue(filter.isEmpty());
+        assertFalse(filter.contains("Michael"));
+    }
+
+    @Test
+    void memoryTest() {
+        OffHeapBloomFilter<String> offHeapFilter = (OffHeapBloomFilter<String>) filter;
+        assertEquals(offHeapFilter.getMemoryFootprint(), filter.getMemoryFootprintEstimate());
+        assertTrue(offHeapFilter.getBitCount() <= offHeapFilter.getMemoryFootprint() * 8);
+    }
+
+    @Test
+    void byteBudgetTest() {
+        OffHeapBloomFilter<Integer> budgeted = new OffHeapBloomFilter<>(100_000, 1e-7, 64 * 1024);
+        assertEquals(64 * 1024, budgeted.getMemoryFootprint());
+        for (int i = 0; i < 100_000; i++)
+            budgeted.add(i);
+        assertTrue(budgeted.expectedFalsePositiveRate() > 1e-7);
+        for (int i = 0; i < 100_000; i++)
+            assertTrue(budgeted.contains(i));
+        assertThrows(IllegalArgumentException.class, () -> new OffHeapBloomFilter<>(1_000, 0.01, 4));
+    }
+
+    @Test
+    void falsePositiveTest() {
+        OffHeapBloomFilter<Integer> bloomFilter = new OffHeapBloomFilter<>(100_000, 0.01);
+        for (int i = 0; i < 100_000; i++)
+            bloomFilter.add(i);
+        int falsePositives = 0;
+        for (int i = 100_000; i < 1_100_000; i++) {
+            if (bloomFilter.contains(i))
+                falsePositives++;
+        }
+        assertTrue(falsePositives / 1_000_000.0 < 0.0125);
+        assertEquals(0.01, bloomFilter.expectedFalsePositiveRate(), 0.001);
+    }
+}
@@ -0,0 +1,169 @@
+import api.BloomFilter;
+import implementations.PartitionedBloomFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class PartitionedBloomFilterTests {
+
+    private PartitionedBloomFilter<String> filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new PartitionedBloomFilter<>(100_000, 0.001);
+    }
+
+    @Test
+    void addTest() {
+        assertFalse(filter.contains("Brock"));
+        filter.add("Brock");
+        assertTrue(filter.contains("Brock"));
+        assertEquals(1, filter.size());
+        assertEquals(filter.getHashFunctionCount(), filter.getSliceCount());
+    }
+
+    @Test
+    void clearTest() {
+        filter.addAll(List.of("Michael", "Jack", "Ashley"));
+        filter.clear();
+        assertTrue(filter.isEmpty());
+        assertFalse(filter.contains("Michael"));
+    }
+
+    @Test
+    void falsePositiveTest() {
+        BloomFilter<Integer> integerFilter = new PartitionedBloomFilter<>(100_000, 0.01);
+        for (int i = 0; i < 100_000; i++)
+            integerFilter.add(i);
+        int falsePositives = 0;
+        for (int i = 100_000; i < 1_100_000; i++) {
+            if (integerFilter.contains(i))
+                falsePositives++;
+        }
+        assertTrue(falsePositives / 1_000_000.0 < 0.0125);
+        assertEquals(0.01, integerFilter.expectedFalsePositiveRate(), 0.002);
+    }
+
+    @Test
+    void concurrentAddTest() throws Exception {
+        PartitionedBloomFilter<Integer> concurrentFilter = new PartitionedBloomFilter<>(400_000, 0.001);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int start = t * 100_000;
+                futures.add(executor.submit(() -> {
+                    for (int i = start; i < start + 100_000; i++)
+                        concurrentFilter.add(i);
+                }));
+            }
+            for (Future<?> future : futures)
+                future.get();
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(400_000, concurrentFilter.size());
+        for (int i = 0; i < 400_000; i++)
+            assertTrue(concurrentFilter.contains(i));
+    }
+
+    @Test
+    void sliceRoundTripTest() throws IOException {
+        filter.addAll(List.of("Michael", "Jack", "Ashley"));
+        PartitionedBloomFilter<String> restored = new PartitionedBloomFilter<>(100_000, 0.001);
+        for (int slice = 0; slice < filter.getSliceCount(); slice++) {
+            assertFalse(restored.containsAll(List.of("Michael", "Jack", "Ashley")));
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            filter.writeSlice(slice, Channels.newChannel(out));
+            restored.readSlice(slice, Channels.newChannel(new ByteArrayInputStream(out.toByteArray())));
+        }
+        assertTrue(restored.containsAll(List.of("Michael", "Jack", "Ashley")));
+        assertEquals(3, restored.size());
+    }
+
+    @Test
+    void sliceMismatchTest() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        filter.writeSlice(0, Channels.newChannel(out));
+        byte[] saved = out.toByteArray();
+        assertThrows(IOException.class, () -> filter.readSlice(1, Channels.newChannel(new ByteArrayInputStream(saved))));
+        PartitionedBloomFilter<String> other = new PartitionedBloomFilter<>(1_000, 0.001);
+        assertThrows(IOException.class, () -> other.readSlice(0, Channels.newChannel(new ByteArrayInputStream(saved))));
+        byte[] truncated = Arrays.copyOf(saved, saved.length / 2);
+        assertThrows(IOException.class, () -> filter.readSlice(0, Channels.newChannel(new ByteArrayInputStream(truncated))));
+        assertThrows(IndexOutOfBoundsException.class, () -> filter.writeSlice(filter.getSliceCount(), Channels.newChannel(out)));
+    }
+
+    @Test
+    void shardedSliceTest() {
+        int sliceCount = filter.getSliceCount();
+        List<PartitionedBloomFilter.Slice<String>> shards = new ArrayList<>();
+        for (int slice = 0; slice < sliceCount; slice++) {
+            PartitionedBloomFilter.Slice<String> shard = PartitionedBloomFilter.newSlice(100_000, 0.001, slice);
+            assertEquals(slice, shard.getIndex());
+            assertEquals(sliceCount, shard.getSliceCount());
+            assertEquals(filter.getSliceBits(), shard.getBitCount());
+            shard.add("Michael");
+            shard.add("Jack");
+            shards.add(shard);
+        }
+        assertTrue(shards.stream().allMatch(shard -> shard.contains("Jack")));
+        assertFalse(shards.stream().allMatch(shard -> shard.contains("Ashley")));
+        PartitionedBloomFilter<String> assembled = new PartitionedBloomFilter<>(shards);
+        assertTrue(assembled.containsAll(List.of("Michael", "Jack")));
+        assertFalse(assembled.contains("Ashley"));
+        assertEquals(2, assembled.size());
+        assembled.add("Ashley");
+        assertTrue(shards.get(sliceCount - 1).contains("Ashley"));
+        assertThrows(IndexOutOfBoundsException.class, () -> PartitionedBloomFilter.newSlice(100_000, 0.001, sliceCount));
+    }
+
+    @Test
+    void sliceViewTest() throws IOException {
+        filter.add("Brock");
+        PartitionedBloomFilter.Slice<String> slice = filter.getSlice(2);
+        assertTrue(slice.contains("Brock"));
+        // adds through the filter are only counted by the filter
+        assertEquals(0, slice.size());
+        slice.add("Jack");
+        assertEquals(1, slice.size());
+        assertEquals(1, filter.size());
+        slice.add("Kate");
+        assertEquals(2, filter.size());
+        PartitionedBloomFilter.Slice<String> copy = PartitionedBloomFilter.newSlice(100_000, 0.001, 2);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        slice.writeTo(Channels.newChannel(out));
+        copy.readFrom(Channels.newChannel(new ByteArrayInputStream(out.toByteArray())));
+        assertTrue(copy.contains("Brock"));
+        assertEquals(slice.bitIndex("Brock"), copy.bitIndex("Brock"));
+        assertEquals(2, copy.size());
+        filter.clear();
+        assertFalse(slice.contains("Brock"));
+        assertEquals(0, slice.size());
+    }
+
+    @Test
+    void sliceAssemblyMismatchTest() {
+        List<PartitionedBloomFilter.Slice<String>> shards = new ArrayList<>();
+        for (int slice = 0; slice < filter.getSliceCount(); slice++)
+            shards.add(PartitionedBloomFilter.newSlice(100_000, 0.001, slice));
+        List<PartitionedBloomFilter.Slice<String>> reversed = new ArrayList<>(shards);
+        Collections.reverse(reversed);
+        assertThrows(IllegalArgumentException.class, () -> new PartitionedBloomFilter<>(reversed));
+        assertThrows(IllegalArgumentException.class, () -> new PartitionedBloomFilter<>(shards.subList(0, 1)));
+        assertThrows(IllegalArgumentException.class, () -> new PartitionedBloomFilter<String>(List.of()));
+    }
+}
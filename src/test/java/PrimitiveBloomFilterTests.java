@@ -0,0 +1,109 @@
+import implementations.BloomFilterImpl;
+import implementations.IntBloomFilter;
+import implementations.LongBloomFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Random;
+
+public class PrimitiveBloomFilterTests {
+
+    private LongBloomFilter longFilter;
+    private IntBloomFilter intFilter;
+
+    @BeforeEach
+    void setUp() {
+        longFilter = new LongBloomFilter(100_000, 0.001);
+        intFilter = new IntBloomFilter(100_000, 0.001);
+    }
+
+    @Test
+    void addTest() {
+        assertFalse(longFilter.contains(42L));
+        longFilter.add(42L);
+        assertTrue(longFilter.contains(42L));
+        assertTrue(longFilter.contains(Long.valueOf(42)));
+        assertEquals(1, longFilter.size());
+
+        intFilter.add(-7);
+        assertTrue(intFilter.contains(-7));
+        assertTrue(intFilter.contains(Integer.valueOf(-7)));
+        assertEquals(1, intFilter.size());
+    }
+
+    @Test
+    void bulkTest() {
+        long[] keys = new Random(17).longs(10_000).toArray();
+        longFilter.addAll(keys);
+        boolean[] out = new boolean[keys.length];
+        assertTrue(longFilter.containsAll(keys, out));
+        for (boolean found : out)
+            assertTrue(found);
+
+        long[] mixed = {keys[0], keys[1] + 1, keys[2]};
+        boolean[] mixedOut = new boolean[3];
+        assertFalse(longFilter.containsAll(mixed, mixedOut));
+        assertTrue(mixedOut[0]);
+        assertTrue(mixedOut[2]);
+        assertThrows(IllegalArgumentException.class, () -> longFilter.containsAll(keys, new boolean[1]));
+    }
+
+    @Test
+    void intBulkTest() {
+        int[] keys = new Random(23).ints(10_000).toArray();
+        intFilter.addAll(keys);
+        boolean[] out = new boolean[keys.length];
+        assertTrue(intFilter.containsAll(keys, out));
+        assertEquals(10_000, intFilter.size());
+        intFilter.clear();
+        assertTrue(intFilter.isEmpty());
+        assertFalse(intFilter.containsAll(keys, out));
+    }
+
+    @Test
+    void boxedCompatibilityTest() {
+        BloomFilterImpl<Long> boxedFilter = new BloomFilterImpl<>(100_000, 0.001);
+        longFilter.addAll(List.of(1L, 2L, 3L));
+        boxedFilter.addAll(List.of(1L, 2L, 3L));
+        assertTrue(longFilter.containsAll(List.of(1L, 2L, 3L)));
+        assertEquals(boxedFilter.getHashFunctionCount(), longFilter.getHashFunctionCount());
+    }
+
+    @Test
+    void falsePositiveTest() {
+        for (int i = 0; i < 100_000; i++)
+            intFilter.add(i);
+        int falsePositives = 0;
+        for (int i = 100_000; i < 1_100_000; i++) {
+            if (intFilter.contains(i))
+                falsePositives++;
+        }
+        assertTrue(falsePositives / 1_000_000.0 < 0.0015);
+    }
+
+    @Test
+    void batchMatchesScalarTest() {
+        long[] keys = new Random(29).longs(5_000).toArray();
+        longFilter.addAll(keys);
+        long[] queries = new long[1_237];
+        Random random = new Random(31);
+        for (int i = 0; i < queries.length; i++)
+            queries[i] = (i % 3 == 0) ? keys[random.nextInt(keys.length)] : random.nextLong();
+        boolean[] out = new boolean[queries.length];
+        longFilter.containsAll(queries, out);
+        for (int i = 0; i < queries.length; i++)
+            assertEquals(longFilter.contains(queries[i]), out[i]);
+
+        int[] intQueries = new int[queries.length];
+        for (int i = 0; i < queries.length; i++)
+            intQueries[i] = (int) queries[i];
+        intFilter.addAll(new int[] {intQueries[0], intQueries[5], intQueries[1_236]});
+        intFilter.containsAll(intQueries, out);
+        for (int i = 0; i < intQueries.length; i++)
+            assertEquals(intFilter.contains(intQueries[i]), out[i]);
+        assertTrue(out[0] && out[5] && out[1_236]);
+    }
+}
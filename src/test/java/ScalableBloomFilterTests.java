@@ -0,0 +1,106 @@
+import api.BloomFilter;
+import implementations.BloomFilterSizing;
+import implementations.ScalableBloomFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+public class ScalableBloomFilterTests {
+
+    private ScalableBloomFilter<Integer> filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new ScalableBloomFilter<>(1_000, 0.01);
+    }
+
+    @Test
+    void addTest() {
+        assertFalse(filter.contains(42));
+        filter.add(42);
+        assertTrue(filter.contains(42));
+        assertEquals(1, filter.size());
+        assertEquals(1, filter.getStageCount());
+    }
+
+    @Test
+    void growthTest() {
+        for (int i = 0; i < 100_000; i++)
+            filter.add(i);
+        assertTrue(filter.getStageCount() > 1);
+        for (int i = 0; i < 100_000; i++)
+            assertTrue(filter.contains(i));
+        assertEquals(100_000, filter.size());
+    }
+
+    @Test
+    void boundedFalsePositiveTest() {
+        for (int i = 0; i < 200_000; i++)
+            filter.add(i);
+        int falsePositives = 0;
+        for (int i = 200_000; i < 1_200_000; i++) {
+            if (filter.contains(i))
+                falsePositives++;
+        }
+        double measuredRate = falsePositives / 1_000_000.0;
+        assertTrue(measuredRate < 0.01, "measured false positive rate " + measuredRate);
+        assertTrue(filter.expectedFalsePositiveRate() < 0.01);
+    }
+
+    @Test
+    void duplicatesDontGrowTest() {
+        for (int i = 0; i < 10_000; i++)
+            filter.add(i % 500);
+        assertEquals(1, filter.getStageCount());
+        assertEquals(10_000, filter.size());
+    }
+
+    @Test
+    void clearTest() {
+        BloomFilter<String> stringFilter = new ScalableBloomFilter<>(2, 0.01);
+        stringFilter.addAll(List.of("Michael", "Jack", "Ashley", "Sydney", "Eric", "Peter"));
+        assertTrue(stringFilter.containsAll(List.of("Michael", "Jack", "Ashley", "Sydney", "Eric", "Peter")));
+        stringFilter.clear();
+        assertTrue(stringFilter.isEmpty());
+        assertFalse(stringFilter.contains("Michael"));
+    }
+
+    @Test
+    void invalidArgumentsTest() {
+        assertThrows(IllegalArgumentException.class, () -> new ScalableBloomFilter<>(1_000, 0.01, 0.5, 0.5));
+        assertThrows(IllegalArgumentException.class, () -> new ScalableBloomFilter<>(1_000, 0.01, 2, 1));
+        assertThrows(IllegalArgumentException.class, () -> new ScalableBloomFilter<>(0, 0.01));
+    }
+
+    @Test
+    void stageGeometryTest() {
+        ScalableBloomFilter<Integer> tightFilter = new ScalableBloomFilter<>(1_000, 1e-7);
+        for (int i = 0; i < 1_100_000; i++)
+            tightFilter.add(i);
+        assertTrue(tightFilter.getStageCount() >= 10);
+        double rate = 1e-7 * 0.5;
+        for (int stage = 0; stage < tightFilter.getStageCount(); stage++) {
+            assertEquals(1_000L << stage, tightFilter.getStageCapacity(stage));
+            assertEquals(rate, tightFilter.getStageFalsePositiveRate(stage), rate * 1e-9);
+            BloomFilterSizing sizing = BloomFilterSizing.forElementCount(1_000L << stage, rate);
+            assertEquals(sizing.getBitCount(), tightFilter.getStageBitCount(stage));
+            assertEquals(sizing.getHashFunctionCount(), tightFilter.getStageHashFunctionCount(stage));
+            rate *= 0.5;
+        }
+        // k is rounded to a whole number, which leaves each full stage a fraction of a percent off its target
+        assertTrue(tightFilter.expectedFalsePositiveRate() < 1.01e-7);
+    }
+
+    @Test
+    void unsizableStageTest() {
+        // with no growth and a steep tightening ratio the stage rate underflows after a few stages
+        ScalableBloomFilter<Integer> underflowingFilter = new ScalableBloomFilter<>(1, 1e-300, 1, 1e-3);
+        assertThrows(IllegalStateException.class, () -> {
+            for (int i = 0; i < 1_000; i++)
+                underflowingFilter.add(i);
+        });
+    }
+}
@@ -1,3 +1,5 @@
+import api.IndexedSkipList;
+import api.NavigableSkipList;
 import api.SkipList;
 import implementations.SkipListImpl;
 import org.junit.jupiter.api.BeforeEach;
@@ -36,6 +38,18 @@ public class SkipListTests {
         assertEquals(9, skipList.size());
     }
 
+    @RepeatedTest(10)
+    void addAllDuplicateTest() {
+        assertTrue(skipList.addAll(List.of("Katy", "Dylan", "Ben", "Mike", "Dylan")));
+        assertEquals(8, skipList.size());
+        assertTrue(skipList.contains("Dylan"));
+        assertTrue(skipList.contains("Mike"));
+        assertFalse(skipList.addAll(List.of("Katy", "Ben")));
+        assertFalse(skipList.addAll(List.of()));
+        assertEquals(8, skipList.size());
+        assertThrows(NullPointerException.class, () -> skipList.addAll(Arrays.asList("Zoe", null)));
+    }
+
     @RepeatedTest(10)
     void duplicateTest() {
         assertEquals(6, skipList.size());
@@ -47,6 +61,7 @@ public class SkipListTests {
     void removeTest() {
         assertEquals(6, skipList.size());
         assertTrue(skipList.remove("Ben"));
+        assertFalse(skipList.contains("Ben"));
         assertEquals(5, skipList.size());
         assertTrue(skipList.remove("Katy"));
         assertEquals(4, skipList.size());
@@ -96,6 +111,9 @@ public class SkipListTests {
         skipList.clear();
         assertTrue(skipList.isEmpty());
         assertEquals(0, skipList.size());
+        assertTrue(skipList.add("Ben"));
+        assertTrue(skipList.contains("Ben"));
+        assertEquals(1, skipList.size());
     }
 
     @RepeatedTest(10)
@@ -133,4 +151,406 @@ public class SkipListTests {
         new Random().ints(80_000).forEach(integerSkipList::add);
         assertEquals(17, integerSkipList.getHeight());
     }
+
+    @RepeatedTest(10)
+    void fixedHeightTest() {
+        SkipList<Integer> integerSkipList = new SkipListImpl<>(20);
+        List<Integer> values = new ArrayList<>();
+        new Random().ints().distinct().limit(80_000).forEach(values::add);
+        for (Integer value : values)
+            integerSkipList.add(value);
+        assertEquals(20, integerSkipList.getHeight());
+        assertEquals(80_000, integerSkipList.size());
+        assertTrue(integerSkipList.containsAll(values));
+        Object[] array = integerSkipList.toArray();
+        for (int i = 1; i < array.length; i++)
+            assertTrue((Integer) array[i - 1] < (Integer) array[i]);
+        for (Integer value : values.subList(0, 40_000))
+            integerSkipList.remove(value);
+        assertEquals(20, integerSkipList.getHeight());
+        assertFalse(integerSkipList.contains(values.get(0)));
+        assertTrue(integerSkipList.containsAll(values.subList(40_000, 80_000)));
+        integerSkipList.clear();
+        assertEquals(20, integerSkipList.getHeight());
+        assertTrue(integerSkipList.add(1));
+        assertTrue(integerSkipList.contains(1));
+    }
+
+    @Test
+    void fixedHeightComparatorTest() {
+        SkipList<String> reversed = new SkipListImpl<>(4, Comparator.<String>reverseOrder());
+        reversed.addAll(List.of("Ben", "Katy", "Evan"));
+        assertArrayEquals(new Object[]{"Katy", "Evan", "Ben"}, reversed.toArray());
+        assertThrows(IllegalArgumentException.class, () -> new SkipListImpl<String>(0));
+        assertThrows(IllegalArgumentException.class, () -> new SkipListImpl<String>(SkipListImpl.MAX_FIXED_HEIGHT + 1));
+    }
+
+    @Test
+    void positionalTest() {
+        IndexedSkipList<String> indexed = (IndexedSkipList<String>) skipList;
+        assertEquals("Ashley", indexed.get(0));
+        assertEquals("Evan", indexed.get(3));
+        assertEquals("Katy", indexed.get(5));
+        assertThrows(IndexOutOfBoundsException.class, () -> indexed.get(6));
+        assertEquals(2, indexed.indexOf("Bob"));
+        assertEquals(-1, indexed.indexOf("Brock"));
+        assertEquals(3, indexed.rank("Brock"));
+        assertEquals(6, indexed.rank("Zoe"));
+        assertEquals("Bob", indexed.removeAt(2));
+        assertFalse(indexed.contains("Bob"));
+        assertEquals("Evan", indexed.get(2));
+        assertEquals(5, indexed.size());
+    }
+
+    @RepeatedTest(5)
+    void adaptiveSpanTest() {
+        checkSpans(new SkipListImpl<>());
+    }
+
+    @RepeatedTest(5)
+    void fixedHeightSpanTest() {
+        checkSpans(new SkipListImpl<>(12));
+    }
+
+    // grows the list through several height changes, then shrinks it again, checking every position
+    private void checkSpans(IndexedSkipList<Integer> indexed) {
+        Random random = new Random();
+        TreeSet<Integer> expected = new TreeSet<>();
+        for (int i = 0; i < 5_000; i++) {
+            int value = random.nextInt(20_000);
+            assertEquals(expected.add(value), indexed.add(value));
+        }
+        assertPositions(expected, indexed);
+        for (int i = 0; i < 2_000; i++) {
+            int value = random.nextInt(20_000);
+            assertEquals(expected.remove(value), indexed.remove(value));
+        }
+        while (expected.size() > 100) {
+            int index = random.nextInt(expected.size());
+            Integer removed = indexed.removeAt(index);
+            assertEquals(expected.headSet(removed).size(), index);
+            assertTrue(expected.remove(removed));
+        }
+        assertPositions(expected, indexed);
+        for (int i = 0; i < 1_000; i++)
+            expected.add(random.nextInt(20_000));
+        indexed.addAll(expected);
+        assertPositions(expected, indexed);
+    }
+
+    private void assertPositions(TreeSet<Integer> expected, IndexedSkipList<Integer> indexed) {
+        assertEquals(expected.size(), indexed.size());
+        int index = 0;
+        for (Integer value : expected) {
+            assertEquals(value, indexed.get(index));
+            assertEquals(index, indexed.indexOf(value));
+            assertEquals(index, indexed.rank(value));
+            index++;
+        }
+        assertEquals(-1, indexed.indexOf(-1));
+        assertEquals(0, indexed.rank(-1));
+        assertEquals(expected.size(), indexed.rank(Integer.MAX_VALUE));
+    }
+
+    @Test
+    void navigationTest() {
+        NavigableSkipList<String> navigable = (NavigableSkipList<String>) skipList;
+        assertEquals("Ashley", navigable.first());
+        assertEquals("Katy", navigable.last());
+        assertEquals("Bob", navigable.ceiling("Bob"));
+        assertEquals("Evan", navigable.ceiling("Brock"));
+        assertNull(navigable.ceiling("Zoe"));
+        assertEquals("Bob", navigable.floor("Bob"));
+        assertEquals("Bob", navigable.floor("Brock"));
+        assertNull(navigable.floor("Aaron"));
+        assertEquals("Evan", navigable.higher("Bob"));
+        assertNull(navigable.higher("Katy"));
+        assertEquals("Ben", navigable.lower("Bob"));
+        assertNull(navigable.lower("Ashley"));
+        assertEquals("Ashley", navigable.pollFirst());
+        assertEquals("Katy", navigable.pollLast());
+        assertEquals(4, navigable.size());
+        navigable.clear();
+        assertNull(navigable.pollFirst());
+        assertNull(navigable.pollLast());
+        assertThrows(NoSuchElementException.class, navigable::first);
+    }
+
+    @Test
+    void rangeViewTest() {
+        NavigableSkipList<String> navigable = (NavigableSkipList<String>) skipList;
+        SortedSet<String> subSet = navigable.subSet("Ben", "Jessica");
+        assertEquals(List.of("Ben", "Bob", "Evan"), new ArrayList<>(subSet));
+        assertEquals(3, subSet.size());
+        assertEquals("Ben", subSet.first());
+        assertEquals("Evan", subSet.last());
+        assertTrue(subSet.contains("Bob"));
+        assertFalse(subSet.contains("Jessica"));
+        assertEquals(List.of("Ben", "Bob", "Evan", "Jessica"), new ArrayList<>(navigable.subSet("Ben", true, "Jessica", true)));
+        assertEquals(List.of("Ashley", "Ben"), new ArrayList<>(navigable.headSet("Bob")));
+        assertEquals(List.of("Ashley", "Ben", "Bob"), new ArrayList<>(navigable.headSet("Bob", true)));
+        assertEquals(List.of("Jessica", "Katy"), new ArrayList<>(navigable.tailSet("Jessica")));
+        assertEquals(List.of("Katy"), new ArrayList<>(navigable.tailSet("Jessica", false)));
+        assertTrue(navigable.subSet("Jack", "Jane").isEmpty());
+        assertEquals(0, navigable.subSet("Jack", "Jane").size());
+        assertThrows(NoSuchElementException.class, () -> navigable.subSet("Jack", "Jane").first());
+        assertThrows(IllegalArgumentException.class, () -> navigable.subSet("Katy", "Ben"));
+    }
+
+    @Test
+    void liveViewTest() {
+        NavigableSkipList<String> navigable = (NavigableSkipList<String>) skipList;
+        SortedSet<String> tailSet = navigable.tailSet("Evan");
+        assertThrows(IllegalArgumentException.class, () -> tailSet.add("Dylan"));
+        navigable.add("Hannah");
+        assertTrue(tailSet.contains("Hannah"));
+        assertEquals(4, tailSet.size());
+        assertThrows(IllegalArgumentException.class, () -> navigable.headSet("Bob").add("Katy"));
+        assertTrue(tailSet.remove("Jessica"));
+        assertFalse(tailSet.remove("Ben"));
+        assertFalse(navigable.contains("Jessica"));
+        SortedSet<String> nested = tailSet.headSet("Katy");
+        assertEquals(List.of("Evan", "Hannah"), new ArrayList<>(nested));
+        assertThrows(IllegalArgumentException.class, () -> tailSet.subSet("Ashley", "Katy"));
+        nested.clear();
+        assertEquals(List.of("Ashley", "Ben", "Bob", "Katy"), new ArrayList<>(List.of(navigable.toArray(new String[0]))));
+        Iterator<String> itr = navigable.headSet("Katy").iterator();
+        while (itr.hasNext()) {
+            if (itr.next().startsWith("B"))
+                itr.remove();
+        }
+        assertEquals(List.of("Ashley", "Katy"), new ArrayList<>(List.of(navigable.toArray(new String[0]))));
+    }
+
+    @Test
+    void viewNavigationTest() {
+        NavigableSkipList<String> navigable = (NavigableSkipList<String>) skipList;
+        NavigableSet<String> subSet = navigable.subSet("Ben", false, "Katy", false);
+        assertEquals(List.of("Bob", "Evan", "Jessica"), new ArrayList<>(subSet));
+        assertEquals("Bob", subSet.ceiling("Ashley"));
+        assertEquals("Evan", subSet.ceiling("Brock"));
+        assertNull(subSet.ceiling("Karl"));
+        assertEquals("Jessica", subSet.floor("Zoe"));
+        assertNull(subSet.floor("Ben"));
+        assertEquals("Evan", subSet.higher("Bob"));
+        assertNull(subSet.higher("Jessica"));
+        assertEquals("Bob", subSet.lower("Evan"));
+        assertNull(subSet.lower("Bob"));
+        assertEquals(List.of("Evan"), new ArrayList<>(subSet.subSet("Bob", false, "Jessica", false)));
+        assertEquals(List.of("Bob", "Evan"), new ArrayList<>(subSet.headSet("Evan", true)));
+        assertEquals(List.of("Jessica"), new ArrayList<>(subSet.tailSet("Evan", false)));
+        assertEquals("Bob", subSet.pollFirst());
+        assertEquals("Jessica", subSet.pollLast());
+        assertEquals(List.of("Ashley", "Ben", "Evan", "Katy"), new ArrayList<>(List.of(navigable.toArray(new String[0]))));
+        assertEquals("Evan", subSet.pollFirst());
+        assertNull(subSet.pollFirst());
+        assertNull(subSet.pollLast());
+    }
+
+    @Test
+    void descendingViewTest() {
+        NavigableSkipList<String> navigable = (NavigableSkipList<String>) skipList;
+        NavigableSet<String> descending = navigable.descendingSet();
+        assertEquals(List.of("Katy", "Jessica", "Evan", "Bob", "Ben", "Ashley"), new ArrayList<>(descending));
+        assertEquals("Katy", descending.first());
+        assertEquals("Ashley", descending.last());
+        assertEquals("Bob", descending.ceiling("Brock"));
+        assertEquals("Evan", descending.floor("Brock"));
+        assertEquals("Ben", descending.higher("Bob"));
+        assertEquals("Evan", descending.lower("Bob"));
+        assertTrue(descending.comparator().compare("Ashley", "Katy") > 0);
+        assertEquals(List.of("Jessica", "Evan", "Bob"), new ArrayList<>(descending.subSet("Jessica", "Ben")));
+        assertEquals(List.of("Katy", "Jessica"), new ArrayList<>(descending.headSet("Evan")));
+        assertEquals(List.of("Evan", "Bob", "Ben", "Ashley"), new ArrayList<>(descending.tailSet("Evan")));
+        assertThrows(IllegalArgumentException.class, () -> descending.subSet("Ben", "Jessica"));
+        assertEquals(List.of("Ben", "Bob", "Evan"), new ArrayList<>(descending.subSet("Evan", true, "Ashley", false).descendingSet()));
+        List<String> reversed = new ArrayList<>();
+        navigable.descendingIterator().forEachRemaining(reversed::add);
+        assertEquals(new ArrayList<>(descending), reversed);
+        assertEquals("Katy", descending.pollFirst());
+        Iterator<String> itr = navigable.headSet("Evan", true).descendingIterator();
+        assertEquals("Evan", itr.next());
+        itr.remove();
+        assertEquals("Bob", itr.next());
+        assertEquals(List.of("Jessica", "Bob", "Ben", "Ashley"), new ArrayList<>(descending));
+    }
+
+    @RepeatedTest(5)
+    void viewsMatchTreeSetTest() {
+        SkipListImpl<Integer> integerSkipList = new SkipListImpl<>();
+        TreeSet<Integer> expected = new TreeSet<>();
+        Random random = new Random();
+        for (int i = 0; i < 500; i++) {
+            int value = random.nextInt(1_000);
+            integerSkipList.add(value);
+            expected.add(value);
+        }
+        for (int trial = 0; trial < 200; trial++) {
+            int from = random.nextInt(1_000);
+            int to = from + random.nextInt(1_000 - from);
+            boolean fromInclusive = random.nextBoolean();
+            boolean toInclusive = random.nextBoolean();
+            NavigableSet<Integer> view = integerSkipList.subSet(from, fromInclusive, to, toInclusive);
+            NavigableSet<Integer> expectedView = expected.subSet(from, fromInclusive, to, toInclusive);
+            if (random.nextBoolean()) {
+                view = view.descendingSet();
+                expectedView = expectedView.descendingSet();
+            }
+            assertEquals(new ArrayList<>(expectedView), new ArrayList<>(view));
+            assertEquals(expectedView.size(), view.size());
+            for (int probe = from - 5; probe <= to + 5; probe += 1 + random.nextInt(20)) {
+                assertEquals(expectedView.ceiling(probe), view.ceiling(probe));
+                assertEquals(expectedView.floor(probe), view.floor(probe));
+                assertEquals(expectedView.higher(probe), view.higher(probe));
+                assertEquals(expectedView.lower(probe), view.lower(probe));
+            }
+        }
+    }
+
+    @RepeatedTest(5)
+    void rangeSizeTest() {
+        SkipListImpl<Integer> integerSkipList = new SkipListImpl<>();
+        TreeSet<Integer> expected = new TreeSet<>();
+        Random random = new Random();
+        for (int i = 0; i < 2_000; i++) {
+            int value = random.nextInt(10_000);
+            expected.add(value);
+            integerSkipList.add(value);
+        }
+        for (int i = 0; i < 100; i++) {
+            int from = random.nextInt(10_000);
+            int to = from + random.nextInt(10_000 - from + 1);
+            assertEquals(expected.subSet(from, to).size(), integerSkipList.subSet(from, to).size());
+            assertEquals(new ArrayList<>(expected.subSet(from, true, to, true)), new ArrayList<>(integerSkipList.subSet(from, true, to, true)));
+            assertEquals(expected.ceiling(from), integerSkipList.ceiling(from));
+            assertEquals(expected.lower(to), integerSkipList.lower(to));
+        }
+    }
+
+    @Test
+    void bulkLoadTest() {
+        IndexedSkipList<Integer> indexed = new SkipListImpl<>();
+        List<Integer> sorted = new ArrayList<>();
+        for (int i = 0; i < 200_000; i++)
+            sorted.add(2 * i);
+        assertTrue(indexed.addAll(sorted));
+        assertEquals(200_000, indexed.size());
+        assertEquals(18, indexed.getHeight());
+        assertEquals(0, indexed.get(0));
+        assertEquals(199_998, indexed.get(99_999));
+        assertEquals(399_998, indexed.get(199_999));
+        // merging a shuffled batch of odd numbers interleaves them with the existing elements
+        List<Integer> odd = new ArrayList<>();
+        for (int i = 0; i < 200_000; i++)
+            odd.add(2 * i + 1);
+        Collections.shuffle(odd);
+        assertTrue(indexed.addAll(odd));
+        assertEquals(400_000, indexed.size());
+        assertEquals(19, indexed.getHeight());
+        for (int i = 0; i < 400_000; i += 997) {
+            assertEquals(i, indexed.get(i));
+            assertEquals(i, indexed.rank(i));
+        }
+        assertTrue(indexed.remove(7));
+        assertFalse(indexed.contains(7));
+        assertEquals(8, indexed.get(7));
+        // a small batch is added element by element
+        assertTrue(indexed.addAll(List.of(7, 500_000)));
+        assertEquals(7, indexed.get(7));
+        assertEquals(500_000, indexed.get(400_000));
+    }
+
+    @RepeatedTest(5)
+    void fixedHeightBulkLoadTest() {
+        SkipListImpl<Integer> fixed = new SkipListImpl<>(8, Comparator.<Integer>reverseOrder());
+        TreeSet<Integer> expected = new TreeSet<>(Comparator.reverseOrder());
+        Random random = new Random();
+        for (int round = 0; round < 3; round++) {
+            List<Integer> batch = new ArrayList<>();
+            random.ints(5_000, 0, 20_000).forEach(batch::add);
+            expected.addAll(batch);
+            fixed.addAll(batch);
+            assertEquals(8, fixed.getHeight());
+            assertEquals(new ArrayList<>(expected), new ArrayList<>(List.of(fixed.toArray(new Integer[0]))));
+            assertEquals(expected.first(), fixed.get(0));
+            assertEquals(expected.last(), fixed.get(fixed.size() - 1));
+        }
+    }
+
+    @RepeatedTest(5)
+    void cursorTest() {
+        checkCursor(new SkipListImpl<>());
+    }
+
+    @RepeatedTest(5)
+    void fixedHeightCursorTest() {
+        checkCursor(new SkipListImpl<>(16));
+    }
+
+    // keys drift forward with occasional jumps back, mixing cursor operations with direct ones
+    private void checkCursor(SkipListImpl<Integer> integerSkipList) {
+        SkipListImpl<Integer>.Cursor cursor = integerSkipList.cursor();
+        TreeSet<Integer> expected = new TreeSet<>();
+        Random random = new Random();
+        int key = 0;
+        for (int i = 0; i < 20_000; i++) {
+            key = (random.nextInt(50) == 0) ? random.nextInt(key + 1) : key + random.nextInt(5);
+            switch (random.nextInt(10)) {
+                case 0:
+                    assertEquals(expected.remove(key), cursor.remove(key));
+                    break;
+                case 1:
+                    assertEquals(expected.add(key), integerSkipList.add(key));
+                    break;
+                case 2:
+                    assertEquals(expected.headSet(key).size(), cursor.rank(key));
+                    break;
+                case 3:
+                    assertEquals(expected.contains(key), cursor.contains(key));
+                    break;
+                default:
+                    assertEquals(expected.add(key), cursor.add(key));
+            }
+        }
+        assertEquals(new ArrayList<>(expected), new ArrayList<>(List.of(integerSkipList.toArray(new Integer[0]))));
+        int index = 0;
+        for (Integer value : expected)
+            assertEquals(index++, integerSkipList.rank(value));
+    }
+
+    @Test
+    void cursorInvalidationTest() {
+        SkipListImpl<String> list = (SkipListImpl<String>) skipList;
+        SkipListImpl<String>.Cursor cursor = list.cursor();
+        assertTrue(cursor.contains("Evan"));
+        assertTrue(list.remove("Evan"));
+        assertFalse(cursor.contains("Evan"));
+        assertEquals(3, cursor.rank("Evan"));
+        list.clear();
+        assertFalse(cursor.contains("Ben"));
+        assertTrue(cursor.add("Ben"));
+        assertTrue(list.contains("Ben"));
+        assertTrue(cursor.remove("Ben"));
+        assertTrue(list.isEmpty());
+    }
+
+    @Test
+    void cursorLocalityTest() {
+        int[] comparisons = {0};
+        Comparator<Integer> counting = (a, b) -> {
+            comparisons[0]++;
+            return Integer.compare(a, b);
+        };
+        SkipListImpl<Integer> plain = new SkipListImpl<>(20, counting);
+        for (int i = 0; i < 100_000; i++)
+            plain.add(i);
+        int plainComparisons = comparisons[0];
+        comparisons[0] = 0;
+        SkipListImpl<Integer> fingered = new SkipListImpl<>(20, counting);
+        SkipListImpl<Integer>.Cursor cursor = fingered.cursor();
+        for (int i = 0; i < 100_000; i++)
+            cursor.add(i);
+        // each sequential insert lands next to the previous one, so the search cost doesn't grow with n
+        assertTrue(comparisons[0] * 3 < plainComparisons);
+    }
 }
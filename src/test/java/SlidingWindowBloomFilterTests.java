@@ -0,0 +1,141 @@
+import implementations.SlidingWindowBloomFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+public class SlidingWindowBloomFilterTests {
+
+    private ManualClock clock;
+    private SlidingWindowBloomFilter<String> filter;
+
+    @BeforeEach
+    void setUp() {
+        clock = new ManualClock();
+        filter = new SlidingWindowBloomFilter<>(Duration.ofMinutes(4), 4, 10_000, 0.001, clock);
+    }
+
+    @Test
+    void addTest() {
+        assertFalse(filter.contains("Brock"));
+        filter.add("Brock");
+        assertTrue(filter.contains("Brock"));
+        assertEquals(1, filter.size());
+    }
+
+    @Test
+    void expiryTest() {
+        filter.add("Brock");
+        clock.advance(Duration.ofMinutes(1));
+        filter.add("Kate");
+        clock.advance(Duration.ofMinutes(2));
+        assertTrue(filter.contains("Brock"));
+        assertTrue(filter.contains("Kate"));
+        clock.advance(Duration.ofMinutes(1));
+        assertFalse(filter.contains("Brock"));
+        assertTrue(filter.contains("Kate"));
+        assertEquals(1, filter.size());
+        clock.advance(Duration.ofMinutes(1));
+        assertFalse(filter.contains("Kate"));
+        assertTrue(filter.isEmpty());
+    }
+
+    @Test
+    void longIdleTest() {
+        filter.addAll(List.of("Michael", "Jack", "Ashley"));
+        clock.advance(Duration.ofHours(5));
+        assertTrue(filter.isEmpty());
+        filter.add("Brock");
+        assertTrue(filter.contains("Brock"));
+        clock.advance(Duration.ofMinutes(3));
+        assertTrue(filter.contains("Brock"));
+    }
+
+    @Test
+    void boundedMemoryTest() {
+        int footprint = filter.getMemoryFootprintEstimate();
+        for (int minute = 0; minute < 20; minute++) {
+            for (int i = 0; i < 5_000; i++)
+                filter.add(minute + ":" + i);
+            clock.advance(Duration.ofMinutes(1));
+        }
+        assertEquals(footprint, filter.getMemoryFootprintEstimate());
+        assertTrue(filter.size() <= 4 * 5_000);
+        assertTrue(filter.contains("19:0"));
+        assertFalse(filter.contains("10:0"));
+    }
+
+    @Test
+    void staleGenerationTest() {
+        SlidingWindowBloomFilter<Integer> integerFilter = new SlidingWindowBloomFilter<>(Duration.ofMinutes(4), 4, 10_000, 0.01, clock);
+        for (int minute = 0; minute < 12; minute++) {
+            for (int i = 0; i < 10_000; i++)
+                integerFilter.add(minute * 10_000 + i);
+            clock.advance(Duration.ofMinutes(1));
+        }
+        // minute 12 has just started, so minutes 9 to 11 are live and everything older must read as cleared
+        for (int i = 90_000; i < 120_000; i++)
+            assertTrue(integerFilter.contains(i));
+        int falsePositives = 0;
+        for (int i = 0; i < 90_000; i++) {
+            if (integerFilter.contains(i))
+                falsePositives++;
+        }
+        for (int i = 1_000_000; i < 1_200_000; i++) {
+            if (integerFilter.contains(i))
+                falsePositives++;
+        }
+        double expected = integerFilter.expectedFalsePositiveRate();
+        assertTrue(expected < 0.01);
+        assertTrue(falsePositives / 290_000.0 < expected * 1.3);
+        assertEquals(30_000, integerFilter.size());
+    }
+
+    @Test
+    void clearTest() {
+        filter.addAll(List.of("Michael", "Jack", "Ashley"));
+        filter.clear();
+        assertTrue(filter.isEmpty());
+        assertFalse(filter.contains("Michael"));
+        filter.add("Michael");
+        assertTrue(filter.contains("Michael"));
+        assertFalse(filter.contains("Jack"));
+    }
+
+    @Test
+    void invalidArgumentsTest() {
+        assertThrows(IllegalArgumentException.class, () -> new SlidingWindowBloomFilter<>(Duration.ofMinutes(1), 1, 100, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new SlidingWindowBloomFilter<>(Duration.ofMillis(2), 4, 100, 0.01));
+    }
+
+    private static class ManualClock extends Clock {
+
+        private Instant now = Instant.EPOCH;
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+import api.Cache;
+import implementations.WTinyLfuCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+public class WTinyLfuCacheTests {
+
+    private Cache<String, Integer> cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new WTinyLfuCache<>(100);
+    }
+
+    @Test
+    void putGetTest() {
+        assertNull(cache.get("Brock"));
+        cache.put("Brock", 1);
+        assertEquals(1, cache.get("Brock"));
+        cache.put("Brock", 2);
+        assertEquals(2, cache.get("Brock"));
+        assertEquals(1, cache.size());
+        assertTrue(cache.containsKey("Brock"));
+    }
+
+    @Test
+    void computeIfAbsentTest() {
+        assertEquals(4, cache.computeIfAbsent("Kate", String::length));
+        assertEquals(4, cache.computeIfAbsent("Kate", key -> 42));
+        assertNull(cache.computeIfAbsent("Bill", key -> null));
+        assertFalse(cache.containsKey("Bill"));
+    }
+
+    @Test
+    void removeTest() {
+        cache.put("Brock", 1);
+        assertEquals(1, cache.remove("Brock"));
+        assertNull(cache.remove("Brock"));
+        assertTrue(cache.isEmpty());
+    }
+
+    @Test
+    void boundedSizeTest() {
+        for (int i = 0; i < 10_000; i++) {
+            cache.put("Key" + i, i);
+            assertTrue(cache.size() <= cache.getMaximumSize());
+        }
+        assertEquals(cache.getMaximumSize(), cache.size());
+        cache.clear();
+        assertTrue(cache.isEmpty());
+    }
+
+    @Test
+    void smallCacheTest() {
+        Cache<Integer, Integer> tiny = new WTinyLfuCache<>(1);
+        for (int i = 0; i < 100; i++)
+            tiny.put(i % 7, i);
+        assertEquals(1, tiny.size());
+        assertThrows(IllegalArgumentException.class, () -> new WTinyLfuCache<>(0));
+    }
+
+    @Test
+    void skewedHitRateTest() {
+        int capacity = 500;
+        Cache<Integer, Integer> tinyLfu = new WTinyLfuCache<>(capacity);
+        Map<Integer, Integer> lru = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Integer> eldest) {
+                return size() > capacity;
+            }
+        };
+        int[] trace = zipfTrace(50_000, 300_000, 0.9, new Random(47));
+        int tinyLfuHits = 0;
+        int lruHits = 0;
+        for (int key : trace) {
+            if (tinyLfu.containsKey(key))
+                tinyLfuHits++;
+            tinyLfu.computeIfAbsent(key, k -> k);
+            if (lru.get(key) != null)
+                lruHits++;
+            else
+                lru.put(key, key);
+        }
+        assertTrue(tinyLfuHits > lruHits, "W-TinyLFU hits " + tinyLfuHits + ", LRU hits " + lruHits);
+    }
+
+    @Test
+    void missThenPutCountsOnceTest() {
+        Cache<Integer, Integer> loading = new WTinyLfuCache<>(200);
+        Cache<Integer, Integer> getThenPut = new WTinyLfuCache<>(200);
+        int[] trace = zipfTrace(10_000, 100_000, 0.9, new Random(11));
+        int loadingHits = 0;
+        int getThenPutHits = 0;
+        for (int key : trace) {
+            if (loading.containsKey(key))
+                loadingHits++;
+            loading.computeIfAbsent(key, k -> k);
+            if (getThenPut.get(key) != null)
+                getThenPutHits++;
+            else
+                getThenPut.put(key, key);
+        }
+        // a get that misses followed by a put of the same key is one access, just like computeIfAbsent
+        assertEquals(loadingHits, getThenPutHits);
+    }
+
+    private static int[] zipfTrace(int keyCount, int length, double exponent, Random random) {
+        double[] cumulative = new double[keyCount];
+        double total = 0;
+        for (int i = 0; i < keyCount; i++) {
+            total += 1 / Math.pow(i + 1, exponent);
+            cumulative[i] = total;
+        }
+        int[] trace = new int[length];
+        for (int i = 0; i < length; i++) {
+            double target = random.nextDouble() * total;
+            int low = 0;
+            int high = keyCount - 1;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (cumulative[middle] < target)
+                    low = middle + 1;
+                else
+                    high = middle;
+            }
+            trace[i] = low;
+        }
+        return trace;
+    }
+}
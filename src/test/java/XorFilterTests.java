@@ -0,0 +1,73 @@
+import api.BloomFilter;
+import implementations.BloomFilterImpl;
+import implementations.XorFilter;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class XorFilterTests {
+
+    @Test
+    void containsTest() {
+        List<String> names = List.of("Brock", "Steve", "Bill", "Kate", "William", "Henry", "Kim");
+        BloomFilter<String> filter = new XorFilter<>(names, 1e-4);
+        assertTrue(filter.containsAll(names));
+        assertFalse(filter.contains("Michael"));
+        assertEquals(7, filter.size());
+    }
+
+    @Test
+    void duplicateTest() {
+        BloomFilter<String> filter = new XorFilter<>(List.of("Brock", "Brock", "Kate"), 0.01);
+        assertEquals(2, filter.size());
+        assertTrue(filter.contains("Brock"));
+        assertTrue(filter.contains("Kate"));
+    }
+
+    @Test
+    void emptyTest() {
+        BloomFilter<String> filter = new XorFilter<>(List.of(), 0.01);
+        assertTrue(filter.isEmpty());
+    }
+
+    @Test
+    void immutableTest() {
+        BloomFilter<String> filter = new XorFilter<>(List.of("Brock"), 0.01);
+        assertThrows(UnsupportedOperationException.class, () -> filter.add("Kate"));
+        assertThrows(UnsupportedOperationException.class, () -> filter.addAll(List.of("Kate")));
+        assertThrows(UnsupportedOperationException.class, filter::clear);
+    }
+
+    @Test
+    void longKeysTest() {
+        long[] keys = new Random(31).longs(100_000).toArray();
+        XorFilter<Long> filter = XorFilter.ofLongs(keys, 1.0 / 256);
+        assertEquals(8, filter.getFingerprintBits());
+        for (long key : keys)
+            assertTrue(filter.contains(key));
+        int falsePositives = 0;
+        Random random = new Random(37);
+        for (int i = 0; i < 1_000_000; i++) {
+            if (filter.contains(random.nextLong()))
+                falsePositives++;
+        }
+        assertEquals(1.0 / 256, falsePositives / 1_000_000.0, 0.001);
+    }
+
+    @Test
+    void memoryTest() {
+        List<Integer> keys = new ArrayList<>();
+        for (int i = 0; i < 1_000_000; i++)
+            keys.add(i);
+        XorFilter<Integer> filter = new XorFilter<>(keys, 1e-4);
+        double bitsPerKey = filter.getMemoryFootprintEstimate() * 8.0 / keys.size();
+        assertEquals(1.23 * filter.getFingerprintBits(), bitsPerKey, 0.1);
+        assertTrue(filter.getMemoryFootprintEstimate() < new BloomFilterImpl<Integer>(1_000_000, 1e-4).getMemoryFootprintEstimate());
+        for (int i = 0; i < 1_000_000; i++)
+            assertTrue(filter.contains(i));
+    }
+}